@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.mapping.PropertyMapper;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.RecordPropertyMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the case-insensitive matching of the mapper properties via a per-item
+ * {@link LinkedCaseInsensitiveMap} copy, as done before the introduction of the cached
+ * key table, with the current implementation.
+ * <p>
+ * Each invocation maps a page of 100 items, decoded either with or without a
+ * {@link DecodingPlan}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CaseInsensitiveMappingBenchmark {
+
+	@Param({ "8", "32" })
+	int width;
+
+	@Param({ "false", "true" })
+	boolean planned;
+
+	private List<Map<String, Object>> items;
+
+	private PropertyMapper<Item> copyingMapper;
+
+	private PropertyMapper<Item> mapper;
+
+	@Setup
+	public void setUp() {
+		Map<String, String> typesByName = new LinkedHashMap<>();
+		for (int i = 0; i < width; i++) {
+			typesByName.put("Name" + i, "rich_text");
+		}
+		String body = QueryResponses.richTextPage(100, typesByName.keySet(), 16);
+		items = QueryResultsDecoder.decode(body, planned ? DecodingPlan.of(typesByName) : null).items();
+
+		copyingMapper = new CopyingRecordPropertyMapper<>(Item.class);
+		mapper = new RecordPropertyMapper<>(Item.class);
+	}
+
+	@Benchmark
+	public void copying(Blackhole blackhole) {
+		for (Map<String, Object> item : items) {
+			blackhole.consume(copyingMapper.map(item));
+		}
+	}
+
+	@Benchmark
+	public void keyTable(Blackhole blackhole) {
+		for (Map<String, Object> item : items) {
+			blackhole.consume(mapper.map(item));
+		}
+	}
+
+	public record Item(String name0, String name1, String name2, String name3, String name4, String name5, String name6,
+			String name7) {
+	}
+
+	/**
+	 * Record mapper copying the properties of each item into a
+	 * {@link LinkedCaseInsensitiveMap}, like the mappers did before the cached key table.
+	 */
+	static class CopyingRecordPropertyMapper<T> implements PropertyMapper<T> {
+
+		private final String[] names;
+
+		private final MethodHandle constructor;
+
+		CopyingRecordPropertyMapper(Class<T> type) {
+			RecordComponent[] components = type.getRecordComponents();
+			this.names = Arrays.stream(components).map(RecordComponent::getName).toArray(String[]::new);
+			try {
+				Constructor<T> canonical = type.getDeclaredConstructor(
+						Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new));
+				this.constructor = MethodHandles.lookup()
+					.unreflectConstructor(canonical)
+					.asSpreader(Object[].class, components.length)
+					.asType(MethodType.methodType(Object.class, Object[].class));
+			}
+			catch (ReflectiveOperationException e) {
+				throw new IllegalArgumentException(e);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T map(Map<String, Object> properties) {
+			LinkedCaseInsensitiveMap<Object> caseInsensitiveProperties = new LinkedCaseInsensitiveMap<>(
+					properties.size());
+			caseInsensitiveProperties.putAll(properties);
+
+			Object[] values = new Object[names.length];
+			for (int i = 0; i < names.length; i++) {
+				values[i] = caseInsensitiveProperties.get(names[i]);
+			}
+
+			try {
+				return (T) constructor.invokeExact(values);
+			}
+			catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+}
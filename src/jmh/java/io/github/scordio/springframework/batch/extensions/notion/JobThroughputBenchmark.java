@@ -0,0 +1,278 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.mapping.RecordPropertyMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the throughput of a Spring Batch job reading a Notion database served by a
+ * {@link SimulatedNotionServer}.
+ * <p>
+ * Each operation is a job execution reading all the rows of the database, split into
+ * {@code partitions} ranges by a {@link NotionDatabasePartitioner}, with items mapped to
+ * records and discarded by the writer. Besides the job executions per second, the
+ * following secondary results are reported for each iteration:
+ * <ul>
+ * <li>{@code items}: the items read per second</li>
+ * <li>{@code requests}: the requests per second received by the server, including the
+ * ones rejected with HTTP status {@code 429}</li>
+ * </ul>
+ * The distribution of the time spent by a reader to obtain a page is measured by
+ * {@link PageLatencyBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobThroughputBenchmark {
+
+	private static final int PAGE_SIZE = 100;
+
+	private static final String INDEX_PROPERTY = "Id";
+
+	private static final Duration RETRY_AFTER = Duration.ofMillis(100);
+
+	@Param("20000")
+	int pages;
+
+	@Param({ "1", "4" })
+	int partitions;
+
+	@Param({ "0", "2" })
+	int prefetchDepth;
+
+	@Param("20")
+	int latencyMillis;
+
+	@Param("10")
+	int jitterMillis;
+
+	@Param("0.0")
+	double rateLimitedRatio;
+
+	@Param("1000")
+	double requestsPerSecond;
+
+	private SimulatedNotionServer server;
+
+	private AnnotationConfigApplicationContext context;
+
+	private JobLauncher jobLauncher;
+
+	private Job job;
+
+	private LongAdder itemCount;
+
+	private long runs;
+
+	@Setup
+	public void setUp() {
+		server = new SimulatedNotionServer(pages * PAGE_SIZE, INDEX_PROPERTY, QueryResponses.schema(8),
+				Duration.ofMillis(latencyMillis), Duration.ofMillis(jitterMillis), rateLimitedRatio, RETRY_AFTER);
+
+		context = new AnnotationConfigApplicationContext();
+		context.registerBean(Settings.class, () -> new Settings(server.getBaseUrl(), pages * PAGE_SIZE, partitions,
+				prefetchDepth, requestsPerSecond));
+		context.register(ThroughputJob.class);
+		context.refresh();
+
+		jobLauncher = context.getBean(JobLauncher.class);
+		job = context.getBean(Job.class);
+		itemCount = context.getBean(LongAdder.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+		server.close();
+	}
+
+	@Benchmark
+	public void readDatabase(Counters counters) throws Exception {
+		long items = itemCount.sum();
+		long requests = server.getRequests();
+
+		JobExecution execution = jobLauncher.run(job,
+				new JobParametersBuilder().addLong("run", ++runs).toJobParameters());
+
+		if (execution.getStatus() != BatchStatus.COMPLETED) {
+			throw new IllegalStateException("Job failed: " + execution.getAllFailureExceptions());
+		}
+
+		counters.items += itemCount.sum() - items;
+		counters.requests += server.getRequests() - requests;
+	}
+
+	/**
+	 * Secondary results of each iteration.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+
+		public long items;
+
+		public long requests;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			items = 0;
+			requests = 0;
+		}
+
+	}
+
+	record Settings(String baseUrl, int rows, int partitions, int prefetchDepth, double requestsPerSecond) {
+	}
+
+	public record Item(String property0, String property1, Double property2, boolean property3) {
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableBatchProcessing
+	static class ThroughputJob {
+
+		@Bean
+		DataSource dataSource() {
+			return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.addScript("/org/springframework/batch/core/schema-h2.sql")
+				.build();
+		}
+
+		@Bean
+		JdbcTransactionManager transactionManager(DataSource dataSource) {
+			return new JdbcTransactionManager(dataSource);
+		}
+
+		@Bean
+		NotionClientFactory clientFactory() {
+			return new NotionClientFactory();
+		}
+
+		@Bean
+		NotionRateLimiter rateLimiter(Settings settings) {
+			NotionRateLimiter rateLimiter = new NotionRateLimiter();
+			rateLimiter.setRequestsPerSecond(settings.requestsPerSecond());
+			rateLimiter.setMaxRetries(Integer.MAX_VALUE);
+			return rateLimiter;
+		}
+
+		@Bean
+		LongAdder itemCount() {
+			return new LongAdder();
+		}
+
+		@Bean
+		Job job(JobRepository jobRepository, Step managerStep) {
+			return new JobBuilder("THROUGHPUT-JOB", jobRepository).start(managerStep).build();
+		}
+
+		@Bean
+		Step managerStep(JobRepository jobRepository, Step workerStep, Settings settings) {
+			NotionDatabasePartitioner partitioner = new NotionDatabasePartitioner();
+			partitioner.setProperty(INDEX_PROPERTY);
+			partitioner.setMinValue(0);
+			partitioner.setMaxValue(settings.rows() - 1);
+
+			return new StepBuilder("MANAGER-STEP", jobRepository) //
+				.partitioner("WORKER-STEP", partitioner)
+				.step(workerStep)
+				.gridSize(settings.partitions())
+				.taskExecutor(new SimpleAsyncTaskExecutor("partition-"))
+				.build();
+		}
+
+		@Bean
+		Step workerStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+				NotionDatabaseItemReader<Item> itemReader, LongAdder itemCount) {
+			return new StepBuilder("WORKER-STEP", jobRepository) //
+				.<Item, Item>chunk(PAGE_SIZE, transactionManager) //
+				.reader(itemReader) //
+				.writer(itemWriter(itemCount)) //
+				.build();
+		}
+
+		@Bean
+		@StepScope
+		NotionDatabaseItemReader<Item> itemReader(Settings settings, NotionClientFactory clientFactory,
+				NotionRateLimiter rateLimiter, @Value("#{stepExecutionContext['minValue']}") int minValue,
+				@Value("#{stepExecutionContext['maxValue']}") Integer maxValue) {
+			NotionDatabaseItemReader<Item> reader = new NotionDatabaseItemReader<>();
+
+			reader.setToken("token");
+			reader.setBaseUrl(settings.baseUrl());
+			reader.setClientFactory(clientFactory);
+			reader.setRateLimiter(rateLimiter);
+			reader.setDatabaseId("database");
+			reader.setFilter(NotionDatabasePartitioner.rangeFilter(INDEX_PROPERTY, minValue, maxValue));
+			reader.setPageSize(PAGE_SIZE);
+			reader.setPrefetchDepth(settings.prefetchDepth());
+			reader.setPropertyMapper(new RecordPropertyMapper<>(Item.class));
+			reader.setSaveState(false);
+
+			return reader;
+		}
+
+		private static ItemWriter<Item> itemWriter(LongAdder itemCount) {
+			return chunk -> itemCount.add(chunk.size());
+		}
+
+	}
+
+}
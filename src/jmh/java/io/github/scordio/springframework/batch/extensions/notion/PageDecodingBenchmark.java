@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.QueryResultsDecoder.DecodedResults;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.PropertyMapper;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.RecordPropertyMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the decoding of a query response of 100 rows, as done by
+ * {@link NotionDatabaseItemReader} for each page, without any network access.
+ * <p>
+ * The response is shaped like the ones returned by the Notion API and contains properties
+ * of different types. Scores and allocation rates are normalized per row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageDecodingBenchmark {
+
+	private static final int PAGE_SIZE = 100;
+
+	@Param({ "4", "16", "64" })
+	int width;
+
+	@Param({ "false", "true" })
+	boolean planned;
+
+	private String body;
+
+	private DecodingPlan plan;
+
+	private PropertyMapper<Row> mapper;
+
+	@Setup
+	public void setUp() {
+		Map<String, String> schema = QueryResponses.schema(width);
+		body = QueryResponses.page(PAGE_SIZE, schema);
+		plan = planned ? DecodingPlan.of(schema) : null;
+		mapper = new RecordPropertyMapper<>(Row.class);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAGE_SIZE)
+	public DecodedResults decode() {
+		return QueryResultsDecoder.decode(body, plan);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAGE_SIZE)
+	public void decodeAndMap(Blackhole blackhole) {
+		for (Map<String, Object> item : QueryResultsDecoder.decode(body, plan).items()) {
+			blackhole.consume(mapper.map(item));
+		}
+	}
+
+	public record Row(String property0, String property1, Double property2, boolean property3) {
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.JobThroughputBenchmark.Item;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.RecordPropertyMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time spent by a {@link NotionDatabaseItemReader} to obtain a page from a
+ * {@link SimulatedNotionServer}, including throttling, retries, decoding and mapping.
+ * <p>
+ * Each operation reads one page of 100 items. Each benchmark thread runs its own reader,
+ * like the partitions of a job, and all the readers share the same
+ * {@link NotionRateLimiter} and {@link NotionClientFactory}. The percentiles of the page
+ * latency, e.g., {@code p0.99}, are reported by the sample time mode.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class PageLatencyBenchmark {
+
+	private static final int PAGE_SIZE = 100;
+
+	private static final String INDEX_PROPERTY = "Id";
+
+	private static final Duration RETRY_AFTER = Duration.ofMillis(100);
+
+	@Param("20000")
+	int pages;
+
+	@Param({ "0", "2" })
+	int prefetchDepth;
+
+	@Param("20")
+	int latencyMillis;
+
+	@Param("10")
+	int jitterMillis;
+
+	@Param("0.0")
+	double rateLimitedRatio;
+
+	@Param("1000")
+	double requestsPerSecond;
+
+	private SimulatedNotionServer server;
+
+	private NotionClientFactory clientFactory;
+
+	private NotionRateLimiter rateLimiter;
+
+	@Setup
+	public void setUp() {
+		server = new SimulatedNotionServer(pages * PAGE_SIZE, INDEX_PROPERTY, QueryResponses.schema(8),
+				Duration.ofMillis(latencyMillis), Duration.ofMillis(jitterMillis), rateLimitedRatio, RETRY_AFTER);
+
+		clientFactory = new NotionClientFactory();
+
+		rateLimiter = new NotionRateLimiter();
+		rateLimiter.setRequestsPerSecond(requestsPerSecond);
+		rateLimiter.setMaxRetries(Integer.MAX_VALUE);
+	}
+
+	@TearDown
+	public void tearDown() {
+		clientFactory.destroy();
+		server.close();
+	}
+
+	@Benchmark
+	public void readPage(PageReader pageReader, Blackhole blackhole) {
+		pageReader.read().forEachRemaining(blackhole::consume);
+	}
+
+	/**
+	 * Reader of each benchmark thread, reading the whole database and restarting from the
+	 * first page once exhausted.
+	 */
+	@State(Scope.Thread)
+	public static class PageReader {
+
+		private NotionDatabaseItemReader<Item> reader;
+
+		@Setup
+		public void setUp(PageLatencyBenchmark benchmark) {
+			reader = new NotionDatabaseItemReader<>();
+
+			reader.setToken("token");
+			reader.setBaseUrl(benchmark.server.getBaseUrl());
+			reader.setClientFactory(benchmark.clientFactory);
+			reader.setRateLimiter(benchmark.rateLimiter);
+			reader.setDatabaseId("database");
+			reader.setPageSize(PAGE_SIZE);
+			reader.setPrefetchDepth(benchmark.prefetchDepth);
+			reader.setPropertyMapper(new RecordPropertyMapper<>(Item.class));
+			reader.setSaveState(false);
+
+			reader.open(new ExecutionContext());
+		}
+
+		@TearDown
+		public void tearDown() {
+			reader.close();
+		}
+
+		Iterator<Item> read() {
+			Iterator<Item> page = reader.doPageRead();
+			if (page == null) {
+				reader.close();
+				reader.open(new ExecutionContext());
+				page = reader.doPageRead();
+			}
+			return page;
+		}
+
+	}
+
+}
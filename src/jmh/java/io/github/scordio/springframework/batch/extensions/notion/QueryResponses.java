@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Synthetic response bodies of the database query endpoint.
+ */
+final class QueryResponses {
+
+	private static final String[] TYPES = { "rich_text", "number", "checkbox", "select", "multi_select", "date",
+			"url" };
+
+	private QueryResponses() {
+	}
+
+	/**
+	 * Create a page of results with the given rich text properties.
+	 * @param size the number of results
+	 * @param names the property names
+	 * @param valueLength the length of each property value
+	 * @return the response body
+	 */
+	static String richTextPage(int size, Collection<String> names, int valueLength) {
+		StringBuilder body = new StringBuilder("{\"object\":\"list\",\"results\":[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				body.append(',');
+			}
+			body.append("{\"object\":\"page\",\"id\":\"").append(UUID.randomUUID()).append("\",\"properties\":{");
+			int j = 0;
+			for (String name : names) {
+				if (j++ > 0) {
+					body.append(',');
+				}
+				String value = "v".repeat(valueLength);
+				body.append('"')
+					.append(name)
+					.append("\":{\"id\":\"")
+					.append(j)
+					.append("\",\"type\":\"rich_text\",\"rich_text\":[{\"type\":\"text\",\"text\":{\"content\":\"")
+					.append(value)
+					.append("\",\"link\":null},\"plain_text\":\"")
+					.append(value)
+					.append("\",\"href\":null}]}");
+			}
+			body.append("}}");
+		}
+		return body.append("],\"next_cursor\":null,\"has_more\":false}").toString();
+	}
+
+	/**
+	 * Create the property types of a database with the given number of properties, named
+	 * {@code Property0}, {@code Property1}, and so on.
+	 * <p>
+	 * The first property is the title, while the others cycle through the rich text,
+	 * number, checkbox, select, multi-select, date and URL types.
+	 * @param width the number of properties
+	 * @return the property types, keyed by property name
+	 */
+	static Map<String, String> schema(int width) {
+		Map<String, String> typesByName = new LinkedHashMap<>();
+		for (int i = 0; i < width; i++) {
+			typesByName.put("Property" + i, i == 0 ? "title" : TYPES[(i - 1) % TYPES.length]);
+		}
+		return typesByName;
+	}
+
+	/**
+	 * Create a page of results shaped like the ones returned by the Notion API, with the
+	 * given properties.
+	 * @param size the number of results
+	 * @param typesByName the property types, keyed by property name
+	 * @return the response body
+	 */
+	static String page(int size, Map<String, String> typesByName) {
+		List<String> results = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			results.add(result(i, typesByName));
+		}
+		return page(results, null);
+	}
+
+	/**
+	 * Create a page with the given results.
+	 * @param results the results, as created by {@link #result(int, Map)}
+	 * @param nextCursor the cursor of the next page, or {@code null} for the last page
+	 * @return the response body
+	 */
+	static String page(List<String> results, String nextCursor) {
+		return new StringBuilder("{\"object\":\"list\",\"results\":[").append(String.join(",", results))
+			.append("],\"next_cursor\":")
+			.append(nextCursor != null ? "\"" + nextCursor + "\"" : "null")
+			.append(",\"has_more\":")
+			.append(nextCursor != null)
+			.append(",\"type\":\"page_or_database\",\"page_or_database\":{}}")
+			.toString();
+	}
+
+	/**
+	 * Create a result shaped like the ones returned by the Notion API, with the given
+	 * properties.
+	 * @param seed the seed of the property values
+	 * @param typesByName the property types, keyed by property name
+	 * @return the result
+	 */
+	static String result(int seed, Map<String, String> typesByName) {
+		StringBuilder result = new StringBuilder("""
+				{"object":"page","id":"%s","created_time":"2024-10-01T10:00:00.000Z",\
+				"last_edited_time":"2024-10-02T11:30:00.000Z",\
+				"created_by":{"object":"user","id":"%s"},"last_edited_by":{"object":"user","id":"%s"},\
+				"cover":null,"icon":null,"parent":{"type":"database_id","database_id":"%s"},\
+				"archived":false,"in_trash":false,"url":"https://www.notion.so/%s","public_url":null,\
+				"properties":{""".formatted(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+				UUID.randomUUID()));
+		int j = 0;
+		for (Map.Entry<String, String> property : typesByName.entrySet()) {
+			if (j > 0) {
+				result.append(',');
+			}
+			result.append("\"%s\":{\"id\":\"%%3A%d\",\"type\":\"%s\",\"%s\":%s}".formatted(property.getKey(), j,
+					property.getValue(), property.getValue(), value(property.getValue(), seed + j)));
+			j++;
+		}
+		return result.append("}}").toString();
+	}
+
+	private static String value(String type, int seed) {
+		return switch (type) {
+			case "title", "rich_text" -> """
+					[{"type":"text","text":{"content":"Text %1$d","link":null},\
+					"annotations":{"bold":false,"italic":false,"strikethrough":false,"underline":false,\
+					"code":false,"color":"default"},"plain_text":"Text %1$d","href":null}]""".formatted(seed);
+			case "number" -> String.valueOf(seed * 1.5);
+			case "checkbox" -> String.valueOf(seed % 2 == 0);
+			case "select" -> """
+					{"id":"%1$d","name":"Option %1$d","color":"blue"}""".formatted(seed % 5);
+			case "multi_select" -> """
+					[{"id":"1","name":"First","color":"red"},{"id":"2","name":"Second","color":"green"}]""";
+			case "date" -> """
+					{"start":"2024-10-%02d","end":null,"time_zone":null}""".formatted(seed % 28 + 1);
+			case "url" -> "\"https://example.com/%d\"".formatted(seed);
+			default -> throw new IllegalArgumentException("Unsupported type: " + type);
+		};
+	}
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in of the database query endpoint of the Notion API.
+ * <p>
+ * Any database contains the given number of rows, identified by their index, and is
+ * served in pages of the requested size. The cursor of each page is the index of its
+ * first row. A {@code number} range filter on the index property, with
+ * {@code greater_than_or_equal_to} and optional {@code less_than} conditions, like the ones
+ * created by {@link NotionDatabasePartitioner#rangeFilter(String, int, Integer)}, limits the
+ * served rows to the indexes within the range. Any other filter is rejected with HTTP status
+ * {@code 400}.
+ * <p>
+ * Each response is delayed by the given latency plus a random jitter, and a given ratio
+ * of the requests is rejected with HTTP status {@code 429}.
+ */
+final class SimulatedNotionServer implements AutoCloseable {
+
+	private static final Pattern QUERY_PATH = Pattern.compile("/databases/[^/]+/query");
+
+	private static final int DISTINCT_RESULTS = 100;
+
+	private static final String RATE_LIMITED = """
+			{"object":"error","status":429,"code":"rate_limited","message":"Rate limited"}""";
+
+	private final int rows;
+
+	private final String indexProperty;
+
+	private final Duration latency;
+
+	private final Duration jitter;
+
+	private final double rateLimitedRatio;
+
+	private final Duration retryAfter;
+
+	private final List<String> results;
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private final AtomicLong rateLimitedRequests = new AtomicLong();
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final HttpServer server;
+
+	/**
+	 * Create and start a new server.
+	 * @param rows the number of rows of each database
+	 * @param indexProperty the name of the {@code number} property holding the row index
+	 * @param typesByName the property types of the rows, keyed by property name
+	 * @param latency the minimum delay of each response
+	 * @param jitter the maximum random delay added to the latency
+	 * @param rateLimitedRatio the ratio of requests to reject, between 0 and 1
+	 * @param retryAfter the value of the {@code Retry-After} header of rejected requests
+	 */
+	SimulatedNotionServer(int rows, String indexProperty, Map<String, String> typesByName, Duration latency,
+			Duration jitter, double rateLimitedRatio, Duration retryAfter) {
+		this.rows = rows;
+		this.indexProperty = indexProperty;
+		this.latency = latency;
+		this.jitter = jitter;
+		this.rateLimitedRatio = rateLimitedRatio;
+		this.retryAfter = retryAfter;
+		this.results = new ArrayList<>(DISTINCT_RESULTS);
+		for (int i = 0; i < DISTINCT_RESULTS; i++) {
+			results.add(QueryResponses.result(i, typesByName));
+		}
+		try {
+			this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.server.createContext("/", this::handle);
+		this.server.setExecutor(executor);
+		this.server.start();
+	}
+
+	/**
+	 * Return the base URL to configure as Notion API URL.
+	 * @return the base URL
+	 */
+	String getBaseUrl() {
+		return "http://%s:%d".formatted(server.getAddress().getHostString(), server.getAddress().getPort());
+	}
+
+	/**
+	 * Return the number of requests received so far, including the rejected ones.
+	 * @return the number of requests
+	 */
+	long getRequests() {
+		return requests.get();
+	}
+
+	/**
+	 * Return the number of requests rejected with HTTP status {@code 429} so far.
+	 * @return the number of rejected requests
+	 */
+	long getRateLimitedRequests() {
+		return rateLimitedRequests.get();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			requests.incrementAndGet();
+			String request = readBody(exchange);
+
+			if (!"POST".equals(exchange.getRequestMethod())
+					|| !QUERY_PATH.matcher(exchange.getRequestURI().getPath()).matches()) {
+				send(exchange, 404, """
+						{"object":"error","status":404,"code":"object_not_found","message":"Not found"}""");
+				return;
+			}
+
+			delay();
+
+			if (ThreadLocalRandom.current().nextDouble() < rateLimitedRatio) {
+				rateLimitedRequests.incrementAndGet();
+				exchange.getResponseHeaders().add("Retry-After", String.valueOf(retryAfter.toMillis() / 1000.0));
+				send(exchange, 429, RATE_LIMITED);
+				return;
+			}
+
+			String response;
+			try {
+				response = query(JsonParser.parseString(request).getAsJsonObject());
+			}
+			catch (IllegalArgumentException e) {
+				send(exchange, 400, """
+						{"object":"error","status":400,"code":"validation_error","message":"%s"}"""
+					.formatted(e.getMessage()));
+				return;
+			}
+			send(exchange, 200, response);
+		}
+	}
+
+	private String query(JsonObject request) {
+		int start = 0;
+		int end = rows;
+
+		if (request.has("filter")) {
+			JsonObject filter = request.getAsJsonObject("filter");
+			JsonArray conditions = filter.has("and") ? filter.getAsJsonArray("and") : new JsonArray();
+			if (!filter.has("and")) {
+				conditions.add(filter);
+			}
+			for (JsonElement condition : conditions) {
+				JsonObject number = condition.getAsJsonObject().getAsJsonObject("number");
+				JsonElement property = condition.getAsJsonObject().get("property");
+				if (number == null || property == null || !indexProperty.equals(property.getAsString())) {
+					throw new IllegalArgumentException(
+							"Unsupported filter on property " + (property != null ? property.getAsString() : null));
+				}
+				if (number.has("greater_than_or_equal_to")) {
+					start = Math.max(start, number.get("greater_than_or_equal_to").getAsInt());
+				}
+				if (number.has("less_than")) {
+					end = Math.min(end, number.get("less_than").getAsInt());
+				}
+			}
+		}
+
+		if (request.has("start_cursor")) {
+			start = Math.max(start, Integer.parseInt(request.get("start_cursor").getAsString()));
+		}
+
+		int pageEnd = Math.min(end, start + request.get("page_size").getAsInt());
+		List<String> page = new ArrayList<>(Math.max(pageEnd - start, 0));
+		for (int i = start; i < pageEnd; i++) {
+			page.add(results.get(i % DISTINCT_RESULTS));
+		}
+
+		return QueryResponses.page(page, pageEnd < end ? String.valueOf(pageEnd) : null);
+	}
+
+	private void delay() {
+		long delay = latency.toNanos();
+		if (!jitter.isZero()) {
+			delay += ThreadLocalRandom.current().nextLong(jitter.toNanos());
+		}
+		try {
+			TimeUnit.NANOSECONDS.sleep(delay);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static String readBody(HttpExchange exchange) throws IOException {
+		try (InputStream body = exchange.getRequestBody()) {
+			return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static void send(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream response = exchange.getResponseBody()) {
+			response.write(bytes);
+		}
+	}
+
+	/**
+	 * Stop the server.
+	 */
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+}
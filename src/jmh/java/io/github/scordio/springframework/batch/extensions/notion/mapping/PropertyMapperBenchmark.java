@@ -0,0 +1,237 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.mapping;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the {@link PropertyMapper} implementations for a page of 100
+ * items, depending on the number of mapped properties and the length of their values.
+ * <p>
+ * The item properties are named {@code Property0}, {@code Property1}, and so on, so that
+ * the mappers match them case-insensitively.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyMapperBenchmark {
+
+	private static final int PAGE_SIZE = 100;
+
+	@Param({ "record", "constructor", "beanWrapper", "generated" })
+	String mapper;
+
+	@Param({ "4", "16" })
+	int propertyCount;
+
+	@Param({ "8", "256" })
+	int valueLength;
+
+	private PropertyMapper<?> underTest;
+
+	private List<Map<String, Object>> items;
+
+	@Setup
+	public void setUp() {
+		underTest = switch (mapper) {
+			case "record" -> propertyCount == 4 ? new RecordPropertyMapper<>(Record4.class)
+					: new RecordPropertyMapper<>(Record16.class);
+			case "constructor" -> propertyCount == 4 ? new ConstructorPropertyMapper<>(Record4.class)
+					: new ConstructorPropertyMapper<>(Record16.class);
+			case "beanWrapper" -> propertyCount == 4 ? new BeanWrapperPropertyMapper<>(Bean4.class)
+					: new BeanWrapperPropertyMapper<>(Bean16.class);
+			case "generated" -> propertyCount == 4 ? new PropertyMapperBenchmark_Record4PropertyMapper()
+					: new PropertyMapperBenchmark_Record16PropertyMapper();
+			default -> throw new IllegalArgumentException("Unknown mapper: " + mapper);
+		};
+
+		items = new ArrayList<>(PAGE_SIZE);
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			Map<String, Object> properties = new LinkedHashMap<>();
+			for (int j = 0; j < propertyCount; j++) {
+				properties.put("Property" + j, String.valueOf((char) ('a' + j)).repeat(valueLength));
+			}
+			items.add(Collections.unmodifiableMap(properties));
+		}
+	}
+
+	@Benchmark
+	public void map(Blackhole blackhole) {
+		for (Map<String, Object> item : items) {
+			blackhole.consume(underTest.map(item));
+		}
+	}
+
+	@GeneratePropertyMapper
+	public record Record4(String property0, String property1, String property2, String property3) {
+	}
+
+	@GeneratePropertyMapper
+	public record Record16(String property0, String property1, String property2, String property3, String property4,
+			String property5, String property6, String property7, String property8, String property9, String property10,
+			String property11, String property12, String property13, String property14, String property15) {
+	}
+
+	public static class Bean4 {
+
+		private String property0;
+
+		private String property1;
+
+		private String property2;
+
+		private String property3;
+
+		public void setProperty0(String property0) {
+			this.property0 = property0;
+		}
+
+		public void setProperty1(String property1) {
+			this.property1 = property1;
+		}
+
+		public void setProperty2(String property2) {
+			this.property2 = property2;
+		}
+
+		public void setProperty3(String property3) {
+			this.property3 = property3;
+		}
+
+	}
+
+	public static class Bean16 {
+
+		private String property0;
+
+		private String property1;
+
+		private String property2;
+
+		private String property3;
+
+		private String property4;
+
+		private String property5;
+
+		private String property6;
+
+		private String property7;
+
+		private String property8;
+
+		private String property9;
+
+		private String property10;
+
+		private String property11;
+
+		private String property12;
+
+		private String property13;
+
+		private String property14;
+
+		private String property15;
+
+		public void setProperty0(String property0) {
+			this.property0 = property0;
+		}
+
+		public void setProperty1(String property1) {
+			this.property1 = property1;
+		}
+
+		public void setProperty2(String property2) {
+			this.property2 = property2;
+		}
+
+		public void setProperty3(String property3) {
+			this.property3 = property3;
+		}
+
+		public void setProperty4(String property4) {
+			this.property4 = property4;
+		}
+
+		public void setProperty5(String property5) {
+			this.property5 = property5;
+		}
+
+		public void setProperty6(String property6) {
+			this.property6 = property6;
+		}
+
+		public void setProperty7(String property7) {
+			this.property7 = property7;
+		}
+
+		public void setProperty8(String property8) {
+			this.property8 = property8;
+		}
+
+		public void setProperty9(String property9) {
+			this.property9 = property9;
+		}
+
+		public void setProperty10(String property10) {
+			this.property10 = property10;
+		}
+
+		public void setProperty11(String property11) {
+			this.property11 = property11;
+		}
+
+		public void setProperty12(String property12) {
+			this.property12 = property12;
+		}
+
+		public void setProperty13(String property13) {
+			this.property13 = property13;
+		}
+
+		public void setProperty14(String property14) {
+			this.property14 = property14;
+		}
+
+		public void setProperty15(String property15) {
+			this.property15 = property15;
+		}
+
+	}
+
+}
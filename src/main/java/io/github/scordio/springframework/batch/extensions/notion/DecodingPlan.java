@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.QueryResultsDecoder.ValueDecoder;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Decoding plan of the page properties, compiled from the database schema.
+ * <p>
+ * Each property is assigned a slot, together with the decoder of its type, so that the
+ * values of each page are decoded without inspecting their type and stored in an array.
+ * The resulting items are read-only {@link Map} views over such arrays, sharing the same
+ * key set instance.
+ */
+final class DecodingPlan {
+
+	private final String[] names;
+
+	private final ValueDecoder[] decoders;
+
+	private final Map<String, Integer> slots;
+
+	private final Set<String> keySet;
+
+	private DecodingPlan(String[] names, ValueDecoder[] decoders) {
+		this.names = names;
+		this.decoders = decoders;
+		this.slots = new HashMap<>(names.length * 2);
+		for (int i = 0; i < names.length; i++) {
+			slots.put(names[i], i);
+		}
+		this.keySet = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(names)));
+	}
+
+	/**
+	 * Create a plan for the given properties.
+	 * @param typesByName the property types, keyed by property name
+	 * @return the decoding plan
+	 * @throws IllegalStateException if any of the property types is not supported
+	 */
+	static DecodingPlan of(Map<String, String> typesByName) {
+		String[] names = new String[typesByName.size()];
+		ValueDecoder[] decoders = new ValueDecoder[typesByName.size()];
+
+		int slot = 0;
+		for (Map.Entry<String, String> entry : typesByName.entrySet()) {
+			ValueDecoder decoder = entry.getValue() != null ? ValueDecoder.of(entry.getValue()) : null;
+			if (decoder == null) {
+				throw new IllegalStateException(
+						"Unsupported type of property '%s': %s".formatted(entry.getKey(), entry.getValue()));
+			}
+			names[slot] = entry.getKey();
+			decoders[slot] = decoder;
+			slot++;
+		}
+
+		return new DecodingPlan(names, decoders);
+	}
+
+	Set<String> names() {
+		return keySet;
+	}
+
+	int size() {
+		return names.length;
+	}
+
+	int slot(String name) {
+		Integer slot = slots.get(name);
+		return slot != null ? slot : -1;
+	}
+
+	ValueDecoder decoder(int slot) {
+		return decoders[slot];
+	}
+
+	Map<String, Object> item(Object[] values) {
+		return new Item(values);
+	}
+
+	private final class Item extends AbstractMap<String, Object> {
+
+		private final Object[] values;
+
+		private Item(Object[] values) {
+			this.values = values;
+		}
+
+		@Override
+		public Object get(Object key) {
+			Integer slot = slots.get(key);
+			return slot != null ? values[slot] : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return slots.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return values.length;
+		}
+
+		@Override
+		public Set<String> keySet() {
+			return keySet;
+		}
+
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			return new AbstractSet<>() {
+
+				@Override
+				public Iterator<Entry<String, Object>> iterator() {
+					return new Iterator<>() {
+
+						private int slot;
+
+						@Override
+						public boolean hasNext() {
+							return slot < values.length;
+						}
+
+						@Override
+						public Entry<String, Object> next() {
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+							Entry<String, Object> entry = new SimpleImmutableEntry<>(names[slot], values[slot]);
+							slot++;
+							return entry;
+						}
+
+					};
+				}
+
+				@Override
+				public int size() {
+					return values.length;
+				}
+
+			};
+		}
+
+	}
+
+}
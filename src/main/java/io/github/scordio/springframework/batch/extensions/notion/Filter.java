@@ -21,7 +21,9 @@ import notion.api.v1.model.databases.query.filter.condition.CheckboxFilter;
 import notion.api.v1.model.databases.query.filter.condition.MultiSelectFilter;
 import notion.api.v1.model.databases.query.filter.condition.NumberFilter;
 import notion.api.v1.model.databases.query.filter.condition.SelectFilter;
+import notion.api.v1.model.databases.query.filter.condition.TimestampFilter;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -339,6 +341,16 @@ public abstract sealed class Filter {
 			return new SelectCondition<>(property, factory);
 		}
 
+		/**
+		 * Start the definition of the filter condition for the timestamp associated with
+		 * a database entry.
+		 * @param timestamp the {@link Sort.Timestamp} to filter against
+		 * @return a new {@link TimestampCondition} instance
+		 */
+		public TimestampCondition<T> timestamp(Sort.Timestamp timestamp) {
+			return new TimestampCondition<>(Objects.requireNonNull(timestamp), factory);
+		}
+
 		static abstract sealed class Condition<T extends Filter> {
 
 			private final String property;
@@ -608,6 +620,95 @@ public abstract sealed class Filter {
 
 		}
 
+		/**
+		 * Filter condition for the timestamp associated with a database entry.
+		 *
+		 * @param <T> the type of the target filter
+		 */
+		public static final class TimestampCondition<T extends Filter> extends Condition<T> {
+
+			private final Sort.Timestamp timestamp;
+
+			private TimestampCondition(Sort.Timestamp timestamp, NotionPropertyFilterFactory<T> factory) {
+				super(null, factory);
+				this.timestamp = timestamp;
+			}
+
+			/**
+			 * Return database entries where the timestamp is the same as the provided
+			 * one.
+			 * @param value the value to compare the timestamp against
+			 * @return a filter with the newly defined condition
+			 */
+			public T isEqualTo(Instant value) {
+				TimestampFilter timestampFilter = new TimestampFilter();
+				timestampFilter.setEquals(value.toString());
+				return toTimestampFilter(timestampFilter);
+			}
+
+			/**
+			 * Return database entries where the timestamp is after the provided one.
+			 * @param value the value to compare the timestamp against
+			 * @return a filter with the newly defined condition
+			 */
+			public T isAfter(Instant value) {
+				TimestampFilter timestampFilter = new TimestampFilter();
+				timestampFilter.setAfter(value.toString());
+				return toTimestampFilter(timestampFilter);
+			}
+
+			/**
+			 * Return database entries where the timestamp is on or after the provided
+			 * one.
+			 * @param value the value to compare the timestamp against
+			 * @return a filter with the newly defined condition
+			 */
+			public T isOnOrAfter(Instant value) {
+				TimestampFilter timestampFilter = new TimestampFilter();
+				timestampFilter.setOnOrAfter(value.toString());
+				return toTimestampFilter(timestampFilter);
+			}
+
+			/**
+			 * Return database entries where the timestamp is before the provided one.
+			 * @param value the value to compare the timestamp against
+			 * @return a filter with the newly defined condition
+			 */
+			public T isBefore(Instant value) {
+				TimestampFilter timestampFilter = new TimestampFilter();
+				timestampFilter.setBefore(value.toString());
+				return toTimestampFilter(timestampFilter);
+			}
+
+			/**
+			 * Return database entries where the timestamp is on or before the provided
+			 * one.
+			 * @param value the value to compare the timestamp against
+			 * @return a filter with the newly defined condition
+			 */
+			public T isOnOrBefore(Instant value) {
+				TimestampFilter timestampFilter = new TimestampFilter();
+				timestampFilter.setOnOrBefore(value.toString());
+				return toTimestampFilter(timestampFilter);
+			}
+
+			private T toTimestampFilter(TimestampFilter timestampFilter) {
+				return toFilter(notionPropertyFilter -> {
+					switch (timestamp) {
+						case CREATED_TIME -> {
+							notionPropertyFilter.setTimestamp("created_time");
+							notionPropertyFilter.setCreatedTime(timestampFilter);
+						}
+						case LAST_EDITED_TIME -> {
+							notionPropertyFilter.setTimestamp("last_edited_time");
+							notionPropertyFilter.setLastEditedTime(timestampFilter);
+						}
+					}
+				});
+			}
+
+		}
+
 	}
 
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import notion.api.v1.NotionClient;
+import notion.api.v1.http.NotionHttpClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Factory of Notion clients sharing the same HTTP client, and therefore the same
+ * connection pool.
+ * <p>
+ * A single instance is meant to be shared by all the readers and partitioners of an
+ * application, so that connections are kept alive and reused across partitions and step
+ * executions instead of being established again at each {@code open}. Clients are cached
+ * by integration token and base URL, and the shared HTTP client is closed only when this
+ * factory is {@link #destroy() destroyed}.
+ * <p>
+ * The transport can be customized by providing an {@link HttpClient}. The connection pool
+ * of the underlying {@link HttpClient} can be tuned via the
+ * {@code jdk.httpclient.connectionPoolSize} and {@code jdk.httpclient.keepalive.timeout}
+ * system properties.
+ * <p>
+ * This implementation is thread-safe.
+ */
+public class NotionClientFactory implements DisposableBean {
+
+	private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(3);
+
+	private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30);
+
+	private final Map<ClientKey, NotionClient> clients = new ConcurrentHashMap<>();
+
+	private Duration connectTimeout;
+
+	private Duration readTimeout;
+
+	private HttpClient httpClient;
+
+	private NotionHttpClient notionHttpClient;
+
+	/**
+	 * Create a new {@link NotionClientFactory} with the following defaults:
+	 * <ul>
+	 * <li>{@code connectTimeout} = 3 seconds</li>
+	 * <li>{@code readTimeout} = 30 seconds</li>
+	 * </ul>
+	 */
+	public NotionClientFactory() {
+		this.connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+		this.readTimeout = DEFAULT_READ_TIMEOUT;
+	}
+
+	/**
+	 * The timeout for establishing a connection.
+	 * <p>
+	 * Defaults to 3 seconds.
+	 * @param connectTimeout the timeout
+	 */
+	public void setConnectTimeout(Duration connectTimeout) {
+		this.connectTimeout = Objects.requireNonNull(connectTimeout);
+	}
+
+	/**
+	 * The timeout for receiving a response.
+	 * <p>
+	 * Defaults to 30 seconds.
+	 * @param readTimeout the timeout
+	 */
+	public void setReadTimeout(Duration readTimeout) {
+		this.readTimeout = Objects.requireNonNull(readTimeout);
+	}
+
+	/**
+	 * The {@link HttpClient} to send the requests with.
+	 * <p>
+	 * A custom client can be provided to control the HTTP version, the executor, the
+	 * proxy, or any other setting supported by {@link HttpClient.Builder}. For example,
+	 * an HTTP/2 client can multiplex the requests of parallel partitions over a few
+	 * connections. The client is not closed when this factory is destroyed.
+	 * <p>
+	 * If a custom client is provided, {@link #setConnectTimeout(Duration) connectTimeout}
+	 * is ignored in favor of the one configured in the client, while
+	 * {@link #setReadTimeout(Duration) readTimeout} is still applied to each request.
+	 * <p>
+	 * If no client is provided, an HTTP/1.1 client is created with the default settings
+	 * of the Notion SDK.
+	 * @param httpClient the HTTP client
+	 */
+	public void setHttpClient(HttpClient httpClient) {
+		this.httpClient = Objects.requireNonNull(httpClient);
+	}
+
+	NotionClient getClient(String token, String baseUrl) {
+		return clients.computeIfAbsent(new ClientKey(token, baseUrl),
+				key -> NotionClients.create(key.token(), key.baseUrl(), getHttpClient()));
+	}
+
+	private synchronized NotionHttpClient getHttpClient() {
+		if (notionHttpClient == null) {
+			notionHttpClient = createHttpClient();
+		}
+		return notionHttpClient;
+	}
+
+	private NotionHttpClient createHttpClient() {
+		if (httpClient != null) {
+			return NotionHttpClients.create(httpClient, readTimeout);
+		}
+		return NotionHttpClients.create(connectTimeout, readTimeout);
+	}
+
+	/**
+	 * Close the shared HTTP client. Clients obtained from this factory must not be used
+	 * afterward.
+	 */
+	@Override
+	public synchronized void destroy() {
+		clients.clear();
+		if (notionHttpClient != null) {
+			notionHttpClient.close();
+			notionHttpClient = null;
+		}
+	}
+
+	private record ClientKey(String token, String baseUrl) {
+	}
+
+}
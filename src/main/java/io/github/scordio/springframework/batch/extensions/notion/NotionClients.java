@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import notion.api.v1.NotionClient;
+import notion.api.v1.exception.NotionAPIError;
+import notion.api.v1.http.NotionHttpClient;
+import notion.api.v1.http.NotionHttpResponse;
+import notion.api.v1.logging.Slf4jLogger;
+import notion.api.v1.model.databases.DatabaseProperty;
+import notion.api.v1.model.error.Error;
+import notion.api.v1.request.databases.QueryDatabaseRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+class NotionClients {
+
+	static NotionClient create(NotionClientFactory clientFactory, String token, String baseUrl) {
+		return clientFactory != null ? clientFactory.getClient(token, baseUrl) : create(token, baseUrl);
+	}
+
+	static void release(NotionClientFactory clientFactory, NotionClient client) {
+		if (clientFactory == null) {
+			client.close();
+		}
+	}
+
+	static NotionClient create(String token, String baseUrl) {
+		return create(token, baseUrl, NotionHttpClients.create());
+	}
+
+	static NotionClient create(String token, String baseUrl, NotionHttpClient httpClient) {
+		NotionClient client = new NotionClient(token);
+		client.setHttpClient(httpClient);
+		client.setLogger(new Slf4jLogger());
+		client.setBaseUrl(baseUrl);
+		return client;
+	}
+
+	/**
+	 * Return the type of the given database property, or {@code null} if unknown.
+	 */
+	static String getType(DatabaseProperty property) {
+		if (property.getType() != null) {
+			return property.getType().getValue();
+		}
+		// the SDK does not know the status type yet
+		return property.getStatus() != null ? "status" : null;
+	}
+
+	/**
+	 * Return a key identifying the given query, made of a digest of the integration
+	 * token, the database, the filter properties, and the request body with the filter,
+	 * the sorts, the cursor and the page size.
+	 */
+	static String queryKey(NotionClient client, QueryDatabaseRequest request, List<String> filterProperties) {
+		return digest(client.getToken()) + ' ' + client.getBaseUrl() + "/databases/" + request.getDatabaseId()
+				+ "/query" + filterProperties + ' ' + client.getJsonSerializer().toJsonString(request);
+	}
+
+	static String digest(String value) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Send the given query like {@link NotionClient#queryDatabase(QueryDatabaseRequest)}
+	 * does, but return the raw response body instead of deserializing it. If any filter
+	 * properties are given, only the values of those properties are returned.
+	 */
+	static String queryDatabase(NotionClient client, QueryDatabaseRequest request, List<String> filterProperties) {
+		Map<String, List<String>> query = filterProperties.isEmpty() ? Map.of()
+				: Map.of("filter_properties", filterProperties);
+
+		NotionHttpResponse response = client.getHttpClient()
+			.postTextBody(client.getLogger(),
+					client.getBaseUrl() + "/databases/" + client.urlEncode(request.getDatabaseId()) + "/query", query,
+					client.getJsonSerializer().toJsonString(request),
+					client.buildRequestHeaders(client.contentTypeJson()));
+
+		if (response.getStatus() != 200) {
+			throw toError(client, response);
+		}
+
+		return response.getBody();
+	}
+
+	/**
+	 * Create a page like {@link NotionClient#createPage} does, but send the given raw
+	 * request body instead of serializing the request object model.
+	 */
+	static void createPage(NotionClient client, String body) {
+		NotionHttpResponse response = client.getHttpClient()
+			.postTextBody(client.getLogger(), client.getBaseUrl() + "/pages", Map.of(), body,
+					client.buildRequestHeaders(client.contentTypeJson()));
+
+		if (response.getStatus() != 200) {
+			throw toError(client, response);
+		}
+	}
+
+	/**
+	 * Return the error of the given response. If the body is not a Notion error, like the
+	 * HTML or empty body of a gateway failure, the error is built from the HTTP status.
+	 */
+	static NotionAPIError toError(NotionClient client, NotionHttpResponse response) {
+		Error error = null;
+		try {
+			error = client.getJsonSerializer().toError(response.getBody());
+		}
+		catch (RuntimeException e) {
+			// not a JSON body
+		}
+
+		if (error == null || error.getCode() == null) {
+			error = new Error(response.getStatus(), getErrorCode(response.getStatus()),
+					"Unexpected response with HTTP status " + response.getStatus());
+		}
+
+		return new NotionAPIError(error, response);
+	}
+
+	private static String getErrorCode(int status) {
+		return switch (status) {
+			case 429 -> "rate_limited";
+			case 500 -> "internal_server_error";
+			case 502 -> "bad_gateway";
+			case 503 -> "service_unavailable";
+			case 504 -> "gateway_timeout";
+			default -> "unexpected_response";
+		};
+	}
+
+}
@@ -15,29 +15,60 @@
  */
 package io.github.scordio.springframework.batch.extensions.notion;
 
+import io.github.scordio.springframework.batch.extensions.notion.QueryResultsDecoder.DecodedResults;
 import io.github.scordio.springframework.batch.extensions.notion.mapping.PropertyMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import notion.api.v1.NotionClient;
-import notion.api.v1.http.JavaNetHttpClient;
-import notion.api.v1.logging.Slf4jLogger;
-import notion.api.v1.model.databases.QueryResults;
+import notion.api.v1.exception.NotionAPIError;
+import notion.api.v1.model.databases.DatabaseProperty;
 import notion.api.v1.model.databases.query.filter.QueryTopLevelFilter;
 import notion.api.v1.model.databases.query.sort.QuerySort;
-import notion.api.v1.model.pages.Page;
-import notion.api.v1.model.pages.PageProperty;
-import notion.api.v1.model.pages.PageProperty.RichText;
 import notion.api.v1.request.databases.QueryDatabaseRequest;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.core.observability.BatchMetrics;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.data.AbstractPaginatedDataItemReader;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.Assert;
-
+import org.springframework.util.ClassUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -46,8 +77,19 @@ import java.util.stream.Stream;
  * <p>
  * The query is executed using paged requests of a size specified in
  * {@link #setPageSize(int)}, which defaults to {@value #DEFAULT_PAGE_SIZE}. Additional
- * pages are requested as needed when the {@link #read()} method is called. On restart,
- * the reader will begin again at the same number item it left off at.
+ * pages are requested as needed when the {@link #read()} method is called.
+ * <p>
+ * On restart, the reader will begin again at the same number item it left off at. The
+ * cursor of the page being read and the offset within that page are saved in the
+ * {@link ExecutionContext}, so that the restart requires a single query. If the saved
+ * cursor is no longer accepted by the Notion API, the reader falls back to replaying the
+ * query from the beginning, skipping the items already read.
+ * <p>
+ * Page queries failing with transient errors are retried with an exponential backoff. See
+ * {@link #setMaxAttempts(int)} for details.
+ * <p>
+ * Optionally, the next pages can be prefetched in the background while the current one is
+ * processed. See {@link #setPrefetchDepth(int)} for details.
  * <p>
  * This implementation is thread-safe between calls to {@link #open(ExecutionContext)},
  * but remember to set <code>saveState</code> to <code>false</code> if used in a
@@ -61,34 +103,126 @@ public class NotionDatabaseItemReader<T> extends AbstractPaginatedDataItemReader
 
 	private static final int DEFAULT_PAGE_SIZE = 100;
 
+	private static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	private static final String START_CURSOR = "start.cursor";
+
+	private static final String PAGE_OFFSET = "page.offset";
+
+	private static final String LAST_EDITED_TIME = "last.edited.time";
+
+	private static final Log logger = LogFactory.getLog(NotionDatabaseItemReader.class);
+
 	private String baseUrl;
 
 	private String token;
 
+	private NotionClientFactory clientFactory;
+
 	private String databaseId;
 
 	private PropertyMapper<T> propertyMapper;
 
-	private QueryTopLevelFilter filter;
+	private Filter filter;
+
+	private List<Sort> sorts = List.of();
+
+	private boolean incremental;
+
+	private Instant watermark;
+
+	private Set<String> properties;
 
-	private List<QuerySort> sorts;
+	private boolean inferProperties;
+
+	private boolean validateSchema;
+
+	private NotionRateLimiter rateLimiter;
+
+	private NotionResponseCache responseCache;
+
+	private NotionPageCache pageCache;
+
+	private NotionQueryCoalescer queryCoalescer;
+
+	private int maxAttempts;
+
+	private BackOffPolicy backOffPolicy;
+
+	private MeterRegistry meterRegistry;
+
+	private ObservationRegistry observationRegistry;
+
+	private int prefetchDepth;
+
+	private Executor prefetchExecutor;
+
+	private final Deque<CompletableFuture<DecodedResults>> prefetchedPages = new ArrayDeque<>();
+
+	private volatile boolean prefetchCancelled;
 
 	private NotionClient client;
 
+	private RetryTemplate retryTemplate;
+
+	private Tag databaseTag;
+
+	private Counter pageCounter;
+
+	private Counter itemCounter;
+
+	private Counter byteCounter;
+
+	private Timer mappingTimer;
+
+	private Timer rateLimiterWaitTimer;
+
+	private List<String> filterProperties = List.of();
+
+	private DecodingPlan decodingPlan;
+
+	private QueryTopLevelFilter queryFilter;
+
+	private List<QuerySort> querySorts;
+
+	private List<String> currentLastEditedTimes = List.of();
+
+	private Instant lastEditedTime;
+
 	private boolean hasMore;
 
 	private String nextCursor;
 
+	private String currentCursor;
+
+	private int currentPageSize;
+
+	private int currentPageStart;
+
+	private String restartCursor;
+
+	private int restartOffset = -1;
+
 	/**
 	 * Create a new {@link NotionDatabaseItemReader} with the following defaults:
 	 * <ul>
 	 * <li>{@code baseUrl} = {@value #DEFAULT_BASE_URL}</li>
 	 * <li>{@code pageSize} = {@value #DEFAULT_PAGE_SIZE}</li>
+	 * <li>{@code maxAttempts} = {@value #DEFAULT_MAX_ATTEMPTS}</li>
+	 * <li>{@code backOffPolicy} = {@link ExponentialRandomBackOffPolicy}</li>
+	 * <li>{@code meterRegistry} = {@link Metrics#globalRegistry}</li>
+	 * <li>{@code observationRegistry} = {@link ObservationRegistry#NOOP}</li>
+	 * <li>{@code name} = {@code NotionDatabaseItemReader}</li>
 	 * </ul>
 	 */
 	public NotionDatabaseItemReader() {
 		this.baseUrl = DEFAULT_BASE_URL;
 		this.pageSize = DEFAULT_PAGE_SIZE;
+		this.maxAttempts = DEFAULT_MAX_ATTEMPTS;
+		this.backOffPolicy = new ExponentialRandomBackOffPolicy();
+		this.meterRegistry = Metrics.globalRegistry;
+		this.observationRegistry = ObservationRegistry.NOOP;
+		setName(ClassUtils.getShortName(NotionDatabaseItemReader.class));
 	}
 
 	/**
@@ -114,6 +248,19 @@ public class NotionDatabaseItemReader<T> extends AbstractPaginatedDataItemReader
 		this.token = Objects.requireNonNull(token);
 	}
 
+	/**
+	 * The {@link NotionClientFactory} providing the client to the Notion API.
+	 * <p>
+	 * The same instance should be shared by all the readers and partitioners of the
+	 * application, so that connections are reused. If no factory is provided, a new
+	 * client is created by each {@link #open(ExecutionContext) open} and closed at the
+	 * end of its usage.
+	 * @param clientFactory the client factory
+	 */
+	public void setClientFactory(NotionClientFactory clientFactory) {
+		this.clientFactory = Objects.requireNonNull(clientFactory);
+	}
+
 	/**
 	 * UUID of the database to read from.
 	 * <p>
@@ -144,7 +291,7 @@ public class NotionDatabaseItemReader<T> extends AbstractPaginatedDataItemReader
 	 * @see Filter#where(Filter)
 	 */
 	public void setFilter(Filter filter) {
-		this.filter = filter.toQueryTopLevelFilter();
+		this.filter = Objects.requireNonNull(filter);
 	}
 
 	/**
@@ -157,7 +304,100 @@ public class NotionDatabaseItemReader<T> extends AbstractPaginatedDataItemReader
 	 * @see Sort#by(Sort.Timestamp)
 	 */
 	public void setSorts(Sort... sorts) {
-		this.sorts = Stream.of(sorts).map(Sort::toQuerySort).toList();
+		this.sorts = List.of(sorts);
+	}
+
+	/**
+	 * Whether to read only the items edited since the {@link #setWatermark(Instant)
+	 * watermark}.
+	 * <p>
+	 * When enabled, the {@link #setFilter(Filter) filter} is combined with a
+	 * {@code last_edited_time} on or after the watermark condition, and the items are
+	 * sorted by {@link Sort.Timestamp#LAST_EDITED_TIME} before any other
+	 * {@link #setSorts(Sort...) sort}. The highest last edited time among the items read
+	 * so far is stored in the {@link ExecutionContext} under the {@code last.edited.time}
+	 * key, prefixed by the reader name, as an ISO-8601 string. It can then be promoted to
+	 * the job execution context and used as the watermark of the next run, which reads
+	 * only the items edited in the meantime.
+	 * <p>
+	 * As Notion rounds the last edited time to the minute, the items edited at the
+	 * watermark are read again by the next run.
+	 * <p>
+	 * Defaults to {@code false}.
+	 * @param incremental whether to read only the items edited since the watermark
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * The last edited time from which items are read in incremental mode, inclusive,
+	 * typically the highest last edited time stored by the previous run.
+	 * <p>
+	 * If no watermark is provided, all the items are read.
+	 * <p>
+	 * Relevant only if {@link #setIncremental(boolean) incremental} is enabled.
+	 * @param watermark the last edited time
+	 */
+	public void setWatermark(Instant watermark) {
+		this.watermark = watermark;
+	}
+
+	/**
+	 * The names or IDs of the properties to be returned for each item.
+	 * <p>
+	 * The property names are resolved to IDs via the database schema when the reader is
+	 * opened, and the opening fails if any of them is not found. Only the given
+	 * properties are then requested to the Notion API, reducing the response size and the
+	 * parsing cost when the mapped type uses few of the database properties.
+	 * <p>
+	 * If no properties are provided, all the properties are returned unless
+	 * {@link #setInferProperties(boolean) inferProperties} is enabled. Duplicates are
+	 * ignored.
+	 * @param properties the property names or IDs
+	 */
+	public void setProperties(String... properties) {
+		Assert.notNull(properties, "properties must not be null");
+		Assert.noNullElements(properties, "properties must not contain null elements");
+		this.properties = new LinkedHashSet<>(Arrays.asList(properties));
+	}
+
+	/**
+	 * Whether the properties to be returned for each item should be inferred from the
+	 * {@link PropertyMapper#getPropertyNames() property names} used by the
+	 * {@link #setPropertyMapper(PropertyMapper) property mapper}.
+	 * <p>
+	 * Mapper property names not found in the database schema are ignored. Irrelevant if
+	 * {@link #setProperties(String...) properties} are provided or if the property mapper
+	 * does not know its property names in advance.
+	 * <p>
+	 * Defaults to {@code false}.
+	 * @param inferProperties whether to infer the properties from the property mapper
+	 */
+	public void setInferProperties(boolean inferProperties) {
+		this.inferProperties = inferProperties;
+	}
+
+	/**
+	 * Whether the database schema should be validated against the
+	 * {@link PropertyMapper#getPropertyNames() property names} used by the
+	 * {@link #setPropertyMapper(PropertyMapper) property mapper} when the reader is
+	 * opened.
+	 * <p>
+	 * When enabled, the opening fails if any of the mapper property names is not found
+	 * among the returned properties, before any page is requested.
+	 * <p>
+	 * Whenever the database schema is retrieved, i.e., if this option is enabled or the
+	 * returned properties are {@link #setProperties(String...) provided} or
+	 * {@link #setInferProperties(boolean) inferred}, the opening also fails if any of the
+	 * returned properties has an unsupported type, and the items are decoded according to
+	 * the schema instead of inspecting the type of each property value.
+	 * <p>
+	 * Defaults to {@code false}.
+	 * @param validateSchema whether to validate the database schema
+	 */
+	public void setValidateSchema(boolean validateSchema) {
+		this.validateSchema = validateSchema;
 	}
 
 	/**
@@ -173,6 +413,146 @@ public class NotionDatabaseItemReader<T> extends AbstractPaginatedDataItemReader
 		super.setPageSize(pageSize);
 	}
 
+	/**
+	 * The {@link NotionRateLimiter} throttling the requests to the Notion API.
+	 * <p>
+	 * The same instance should be shared by all the readers using the same integration
+	 * token. If no rate limiter is provided, requests are sent as fast as the items are
+	 * read, and any request rejected by the Notion API due to rate limits fails the read.
+	 * @param rateLimiter the rate limiter
+	 */
+	public void setRateLimiter(NotionRateLimiter rateLimiter) {
+		this.rateLimiter = Objects.requireNonNull(rateLimiter);
+	}
+
+	/**
+	 * The {@link NotionResponseCache} storing the raw responses of the page queries on
+	 * disk.
+	 * <p>
+	 * When a response to the same query is found in the cache, it is used instead of
+	 * sending the query to the Notion API. If no cache is provided, all the queries are
+	 * sent to the Notion API.
+	 * @param responseCache the response cache
+	 */
+	public void setResponseCache(NotionResponseCache responseCache) {
+		this.responseCache = Objects.requireNonNull(responseCache);
+	}
+
+	/**
+	 * The {@link NotionPageCache} storing the decoded pages in memory.
+	 * <p>
+	 * When a page of the same query is found in the cache, it is used instead of sending
+	 * the query to the Notion API or reading the
+	 * {@link #setResponseCache(NotionResponseCache) response cache}. If no cache is
+	 * provided, all the pages are decoded from the query responses.
+	 * @param pageCache the page cache
+	 */
+	public void setPageCache(NotionPageCache pageCache) {
+		this.pageCache = Objects.requireNonNull(pageCache);
+	}
+
+	/**
+	 * The {@link NotionQueryCoalescer} deduplicating identical concurrent page queries.
+	 * <p>
+	 * When an identical query is already in flight, for example sent by another reader
+	 * sharing the same coalescer, its response is used instead of sending the query to
+	 * the Notion API. If no coalescer is provided, all the queries are sent to the Notion
+	 * API.
+	 * @param queryCoalescer the query coalescer
+	 */
+	public void setQueryCoalescer(NotionQueryCoalescer queryCoalescer) {
+		this.queryCoalescer = Objects.requireNonNull(queryCoalescer);
+	}
+
+	/**
+	 * The maximum number of attempts for each page query, including the first one.
+	 * <p>
+	 * Only failures that are likely to be transient are retried, i.e., responses with
+	 * HTTP status {@code 502}, {@code 503}, or {@code 504}, and socket or HTTP timeouts.
+	 * Each retry increments the {@code spring.batch.notion.query.retries} counter.
+	 * <p>
+	 * Defaults to {@value #DEFAULT_MAX_ATTEMPTS}.
+	 * @param maxAttempts the number of attempts. Must be greater than 0.
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be greater than 0");
+		this.maxAttempts = maxAttempts;
+	}
+
+	/**
+	 * The {@link BackOffPolicy} to apply between attempts of a page query.
+	 * <p>
+	 * Defaults to an {@link ExponentialRandomBackOffPolicy}, i.e., an exponential backoff
+	 * with jitter.
+	 * @param backOffPolicy the backoff policy
+	 * @see #setMaxAttempts(int)
+	 */
+	public void setBackOffPolicy(BackOffPolicy backOffPolicy) {
+		this.backOffPolicy = Objects.requireNonNull(backOffPolicy);
+	}
+
+	/**
+	 * The {@link MeterRegistry} to register the reader metrics with.
+	 * <p>
+	 * The reader records the duration of each page query, the number of pages, items and
+	 * response bytes read, the number of retries, the duration of each item mapping and,
+	 * if a {@link #setRateLimiter(NotionRateLimiter) rate limiter} is set, the total time
+	 * spent waiting for it. All meters are tagged with the database ID.
+	 * <p>
+	 * Defaults to {@link Metrics#globalRegistry}.
+	 * @param meterRegistry the meter registry
+	 */
+	public void setMeterRegistry(MeterRegistry meterRegistry) {
+		this.meterRegistry = Objects.requireNonNull(meterRegistry);
+	}
+
+	/**
+	 * The {@link ObservationRegistry} to create the page query observations with.
+	 * <p>
+	 * Each page query, including its retries and the decoding of the response, is
+	 * observed as {@code spring.batch.notion.page.query}, with the database ID and the
+	 * page size as low cardinality key values, and the start cursor, the result count and
+	 * the number of retries as high cardinality key values. The observation is nested
+	 * under the current one when the query is sent, e.g., the step observation, also when
+	 * the page is prefetched.
+	 * <p>
+	 * Defaults to {@link ObservationRegistry#NOOP}.
+	 * @param observationRegistry the observation registry
+	 */
+	public void setObservationRegistry(ObservationRegistry observationRegistry) {
+		this.observationRegistry = Objects.requireNonNull(observationRegistry);
+	}
+
+	/**
+	 * The maximum number of pages to be requested ahead of the one being read.
+	 * <p>
+	 * When greater than 0, the query for the next page is sent to the
+	 * {@link #setPrefetchExecutor(Executor) prefetch executor} as soon as the cursor of
+	 * the previous page is available, so that the network latency overlaps with the
+	 * processing of the current page. When the reader is closed, the pending queries are
+	 * skipped, and the ones already sent are awaited before releasing the client.
+	 * <p>
+	 * Defaults to 0, i.e., pages are requested only when the previous one is consumed.
+	 * @param prefetchDepth the number of pages. Must be greater than or equal to 0.
+	 */
+	public void setPrefetchDepth(int prefetchDepth) {
+		Assert.isTrue(prefetchDepth >= 0, "prefetchDepth must be greater than or equal to 0");
+		this.prefetchDepth = prefetchDepth;
+	}
+
+	/**
+	 * The {@link Executor} to use for prefetching pages.
+	 * <p>
+	 * Defaults to a {@link SimpleAsyncTaskExecutor}, using virtual threads when running
+	 * on Java 21 or later.
+	 * <p>
+	 * Relevant only if {@link #setPrefetchDepth(int) prefetchDepth} is greater than 0.
+	 * @param prefetchExecutor the executor
+	 */
+	public void setPrefetchExecutor(Executor prefetchExecutor) {
+		this.prefetchExecutor = Objects.requireNonNull(prefetchExecutor);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -182,41 +562,178 @@ public class NotionDatabaseItemReader<T> extends AbstractPaginatedDataItemReader
 			return null;
 		}
 
+		List<Map<String, Object>> items = queryNextPage();
+		currentPageStart = getCurrentItemCount() - 1;
+
+		return map(items.stream());
+	}
+
+	private List<Map<String, Object>> queryNextPage() {
+		DecodedResults results = prefetchDepth > 0 ? nextPrefetchedPage()
+				: query(nextCursor, observationRegistry.getCurrentObservation());
+
+		if (incremental) {
+			advanceLastEditedTime(currentLastEditedTimes.size());
+			currentLastEditedTimes = results.lastEditedTimes();
+		}
+
+		currentCursor = nextCursor;
+		currentPageSize = results.items().size();
+		hasMore = results.hasMore();
+		nextCursor = results.nextCursor();
+
+		return results.items();
+	}
+
+	private DecodedResults query(String startCursor, Observation parentObservation) {
 		QueryDatabaseRequest request = new QueryDatabaseRequest(databaseId);
-		request.setFilter(filter);
-		request.setSorts(sorts);
-		request.setStartCursor(nextCursor);
+		request.setFilter(queryFilter);
+		request.setSorts(querySorts);
+		request.setStartCursor(startCursor);
 		request.setPageSize(pageSize);
 
-		QueryResults queryResults = client.queryDatabase(request);
+		Observation observation = Observation
+			.createNotStarted(BatchMetrics.METRICS_PREFIX + "notion.page.query", observationRegistry)
+			.contextualName("notion-page-query")
+			.parentObservation(parentObservation)
+			.lowCardinalityKeyValue(BatchMetrics.METRICS_PREFIX + "notion.database.id", databaseId)
+			.lowCardinalityKeyValue(BatchMetrics.METRICS_PREFIX + "notion.page.size", String.valueOf(pageSize))
+			.highCardinalityKeyValue(BatchMetrics.METRICS_PREFIX + "notion.page.cursor",
+					Objects.requireNonNullElse(startCursor, "none"));
+
+		return observation.observe(() -> {
+			AtomicInteger attempts = new AtomicInteger();
+			String key = responseCache != null || pageCache != null || queryCoalescer != null
+					? NotionClients.queryKey(client, request, filterProperties) : null;
+			String pageKey = pageCache != null ? key + ' ' + (decodingPlan != null ? decodingPlan.names() : "*") : null;
+
+			DecodedResults results = pageKey != null ? pageCache.get(pageKey) : null;
+			if (results == null) {
+				String body = fetch(request, key, attempts);
+				long size = utf8Length(body);
+				results = QueryResultsDecoder.decode(body, decodingPlan);
+				byteCounter.increment(size);
+				if (pageKey != null) {
+					pageCache.put(pageKey, results, size);
+				}
+			}
+
+			pageCounter.increment();
+			itemCounter.increment(results.items().size());
+
+			observation
+				.highCardinalityKeyValue(BatchMetrics.METRICS_PREFIX + "notion.page.results",
+						String.valueOf(results.items().size()))
+				.highCardinalityKeyValue(BatchMetrics.METRICS_PREFIX + "notion.page.retries",
+						String.valueOf(Math.max(attempts.get() - 1, 0)));
+
+			return results;
+		});
+	}
 
-		hasMore = queryResults.getHasMore();
-		nextCursor = queryResults.getNextCursor();
+	private String fetch(QueryDatabaseRequest request, String key, AtomicInteger attempts) {
+		String body = responseCache != null ? responseCache.get(key) : null;
+
+		if (body == null) {
+			Supplier<String> query = () -> execute(() -> {
+				attempts.incrementAndGet();
+				return queryDatabase(request);
+			});
+			body = queryCoalescer != null ? queryCoalescer.execute(key, query) : query.get();
+			if (responseCache != null) {
+				responseCache.put(key, body);
+			}
+		}
 
-		return queryResults.getResults()
-			.stream()
-			.map(NotionDatabaseItemReader::getProperties)
-			.map(properties -> propertyMapper.map(properties))
-			.iterator();
+		return body;
 	}
 
-	private static Map<String, String> getProperties(Page element) {
-		return element.getProperties()
-			.entrySet()
-			.stream()
-			.collect(Collectors.toUnmodifiableMap(Entry::getKey, entry -> getPropertyValue(entry.getValue())));
+	private String queryDatabase(QueryDatabaseRequest request) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String status = BatchMetrics.STATUS_FAILURE;
+		try {
+			String body = NotionClients.queryDatabase(client, request, filterProperties);
+			status = BatchMetrics.STATUS_SUCCESS;
+			return body;
+		}
+		finally {
+			sample.stop(BatchMetrics.createTimer(meterRegistry, "notion.query", "Notion database query duration",
+					databaseTag, Tag.of(BatchMetrics.METRICS_PREFIX + "notion.query.status", status)));
+		}
 	}
 
-	private static String getPropertyValue(PageProperty property) {
-		return switch (property.getType()) {
-			case RichText -> getPlainText(property.getRichText());
-			case Title -> getPlainText(property.getTitle());
-			default -> throw new IllegalArgumentException("Unsupported type: " + property.getType());
-		};
+	private static long utf8Length(String body) {
+		long length = body.length();
+		for (int i = 0; i < body.length(); i++) {
+			char c = body.charAt(i);
+			if (c >= 0x80) {
+				// surrogates count 2 bytes each, i.e., 4 bytes per pair
+				length += c >= 0x800 && !Character.isSurrogate(c) ? 2 : 1;
+			}
+		}
+		return length;
 	}
 
-	private static String getPlainText(List<RichText> texts) {
-		return texts.isEmpty() ? "" : texts.get(0).getPlainText();
+	private <R> R execute(Supplier<R> request) {
+		return retryTemplate.execute(context -> rateLimiter != null
+				? rateLimiter.execute(request, rateLimiterWaitTimer::record) : request.get());
+	}
+
+	private DecodedResults nextPrefetchedPage() {
+		Observation parentObservation = observationRegistry.getCurrentObservation();
+
+		if (prefetchedPages.isEmpty()) {
+			String startCursor = nextCursor;
+			prefetchedPages
+				.add(CompletableFuture.supplyAsync(() -> query(startCursor, parentObservation), prefetchExecutor));
+		}
+
+		DecodedResults results;
+		try {
+			results = prefetchedPages.remove().join();
+		}
+		catch (CompletionException e) {
+			cancelPrefetching();
+			throw e.getCause() instanceof RuntimeException cause ? cause : e;
+		}
+
+		CompletableFuture<DecodedResults> last = prefetchedPages.isEmpty() ? CompletableFuture.completedFuture(results)
+				: prefetchedPages.getLast();
+
+		while (prefetchedPages.size() < prefetchDepth) {
+			last = last.thenApplyAsync(previous -> !prefetchCancelled && previous != null && previous.hasMore()
+					? query(previous.nextCursor(), parentObservation) : null, prefetchExecutor);
+			prefetchedPages.add(last);
+		}
+
+		return results;
+	}
+
+	private void cancelPrefetching() {
+		// cancelling a future does not interrupt its query, so the queries already sent
+		// are
+		// awaited while the pending ones are skipped, as they use the client and the
+		// retry
+		// template released by doClose
+		prefetchCancelled = true;
+		try {
+			for (CompletableFuture<DecodedResults> future : prefetchedPages) {
+				try {
+					future.join();
+				}
+				catch (CompletionException | CancellationException e) {
+					// the page is discarded anyway
+				}
+			}
+		}
+		finally {
+			prefetchedPages.clear();
+			prefetchCancelled = false;
+		}
+	}
+
+	private Iterator<T> map(Stream<Map<String, Object>> items) {
+		return items.map(properties -> mappingTimer.record(() -> propertyMapper.map(properties))).iterator();
 	}
 
 	/**
@@ -224,35 +741,253 @@ public class NotionDatabaseItemReader<T> extends AbstractPaginatedDataItemReader
 	 */
 	@Override
 	protected void doOpen() {
-		client = new NotionClient(token);
-		client.setHttpClient(new JavaNetHttpClient());
-		client.setLogger(new Slf4jLogger());
-		client.setBaseUrl(baseUrl);
+		if (prefetchDepth > 0 && prefetchExecutor == null) {
+			SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("notion-prefetch-");
+			executor.setVirtualThreads(Runtime.version().feature() >= 21);
+			prefetchExecutor = executor;
+		}
+
+		client = NotionClients.create(clientFactory, token, baseUrl);
+		createQuery();
+		createMeters();
+		retryTemplate = createRetryTemplate();
+
+		if (properties != null || inferProperties || validateSchema) {
+			resolveSchema();
+		}
 
 		hasMore = true;
 	}
 
+	private void resolveSchema() {
+		Map<String, DatabaseProperty> schema = execute(() -> client.retrieveDatabase(databaseId)).getProperties();
+
+		LinkedCaseInsensitiveMap<String> namesByName = new LinkedCaseInsensitiveMap<>(schema.size());
+		Map<String, String> namesById = new HashMap<>(schema.size());
+		schema.forEach((name, property) -> {
+			namesByName.put(name, name);
+			namesById.put(property.getId(), name);
+		});
+
+		Set<String> names = properties != null ? properties
+				: inferProperties ? propertyMapper.getPropertyNames() : Set.of();
+		Set<String> selectedNames = new LinkedHashSet<>();
+
+		for (String name : names) {
+			String schemaName = namesByName.containsKey(name) ? namesByName.get(name) : namesById.get(name);
+			if (schemaName != null) {
+				selectedNames.add(schemaName);
+			}
+			else if (properties != null) {
+				throw new IllegalStateException("Property not found in database " + databaseId + ": " + name);
+			}
+		}
+
+		if (selectedNames.isEmpty()) {
+			selectedNames.addAll(schema.keySet());
+		}
+		else {
+			filterProperties = selectedNames.stream()
+				.map(name -> URLDecoder.decode(schema.get(name).getId(), StandardCharsets.UTF_8))
+				.toList();
+		}
+
+		if (validateSchema) {
+			LinkedCaseInsensitiveMap<String> selected = new LinkedCaseInsensitiveMap<>(selectedNames.size());
+			selectedNames.forEach(name -> selected.put(name, name));
+			for (String name : propertyMapper.getPropertyNames()) {
+				if (!selected.containsKey(name)) {
+					throw new IllegalStateException("Property not found in database " + databaseId + ": " + name);
+				}
+			}
+		}
+
+		Map<String, String> typesByName = new LinkedHashMap<>(selectedNames.size() * 2);
+		selectedNames.forEach(name -> typesByName.put(name, NotionClients.getType(schema.get(name))));
+		decodingPlan = DecodingPlan.of(typesByName);
+	}
+
+	private void createQuery() {
+		Filter effectiveFilter = filter;
+		List<Sort> effectiveSorts = sorts;
+
+		if (incremental) {
+			if (watermark != null) {
+				Filter watermarkFilter = Filter.where()
+					.timestamp(Sort.Timestamp.LAST_EDITED_TIME)
+					.isOnOrAfter(watermark);
+				effectiveFilter = filter != null ? Filter.where(filter).and(watermarkFilter) : watermarkFilter;
+			}
+			effectiveSorts = new ArrayList<>(sorts.size() + 1);
+			effectiveSorts.add(Sort.by(Sort.Timestamp.LAST_EDITED_TIME));
+			effectiveSorts.addAll(sorts);
+		}
+
+		queryFilter = effectiveFilter != null ? effectiveFilter.toQueryTopLevelFilter() : null;
+		querySorts = effectiveSorts.isEmpty() ? null : effectiveSorts.stream().map(Sort::toQuerySort).toList();
+	}
+
+	private void advanceLastEditedTime(int itemCount) {
+		for (int i = 0; i < itemCount; i++) {
+			String value = currentLastEditedTimes.get(i);
+			if (value != null) {
+				Instant instant = Instant.parse(value);
+				if (lastEditedTime == null || instant.isAfter(lastEditedTime)) {
+					lastEditedTime = instant;
+				}
+			}
+		}
+	}
+
+	private void createMeters() {
+		databaseTag = Tag.of(BatchMetrics.METRICS_PREFIX + "notion.database.id", databaseId);
+		pageCounter = BatchMetrics.createCounter(meterRegistry, "notion.query.pages", "Notion database pages read",
+				databaseTag);
+		itemCounter = BatchMetrics.createCounter(meterRegistry, "notion.query.items", "Notion database items read",
+				databaseTag);
+		byteCounter = BatchMetrics.createCounter(meterRegistry, "notion.query.bytes",
+				"Notion database query response bytes", databaseTag);
+		mappingTimer = BatchMetrics.createTimer(meterRegistry, "notion.item.mapping", "Notion item mapping duration",
+				databaseTag);
+
+		if (rateLimiter != null) {
+			rateLimiterWaitTimer = BatchMetrics.createTimer(meterRegistry, "notion.rate.limiter.wait",
+					"Notion rate limiter wait duration", databaseTag);
+		}
+	}
+
+	private RetryTemplate createRetryTemplate() {
+		NotionRetryPolicy retryPolicy = new NotionRetryPolicy(maxAttempts);
+		Counter retries = BatchMetrics.createCounter(meterRegistry, "notion.query.retries",
+				"Notion database query retries", databaseTag);
+
+		RetryTemplate retryTemplate = new RetryTemplate();
+		retryTemplate.setRetryPolicy(retryPolicy);
+		retryTemplate.setBackOffPolicy(backOffPolicy);
+		retryTemplate.registerListener(new RetryListener() {
+
+			@Override
+			public <R, E extends Throwable> void onError(RetryContext context, RetryCallback<R, E> callback,
+					Throwable throwable) {
+				if (retryPolicy.canRetry(context)) {
+					logger.debug("Retrying transient query failure: " + throwable.getMessage());
+					retries.increment();
+				}
+			}
+
+		});
+
+		return retryTemplate;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected void doClose() {
-		client.close();
+		cancelPrefetching();
+
+		if (client != null) {
+			NotionClients.release(clientFactory, client);
+		}
 		client = null;
+		retryTemplate = null;
+		filterProperties = List.of();
+		decodingPlan = null;
+		queryFilter = null;
+		querySorts = null;
+		currentLastEditedTimes = List.of();
 
 		hasMore = false;
+		nextCursor = null;
+		currentCursor = null;
+		currentPageSize = 0;
+		currentPageStart = 0;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected void jumpToItem(int itemIndex) throws Exception {
-		for (int i = 0; i < itemIndex; i++) {
-			read();
+	public void open(ExecutionContext executionContext) {
+		restartCursor = executionContext.getString(getExecutionContextKey(START_CURSOR), null);
+		restartOffset = executionContext.containsKey(getExecutionContextKey(PAGE_OFFSET))
+				? executionContext.getInt(getExecutionContextKey(PAGE_OFFSET)) : -1;
+		String restartLastEditedTime = executionContext.getString(getExecutionContextKey(LAST_EDITED_TIME), null);
+		lastEditedTime = restartLastEditedTime != null ? Instant.parse(restartLastEditedTime) : watermark;
+
+		super.open(executionContext);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void update(ExecutionContext executionContext) {
+		super.update(executionContext);
+
+		if (isSaveState()) {
+			String cursor = currentCursor;
+			int offset = getCurrentItemCount() - currentPageStart;
+
+			if (offset >= currentPageSize && hasMore) {
+				cursor = nextCursor;
+				offset = 0;
+			}
+
+			executionContext.putString(getExecutionContextKey(START_CURSOR), cursor);
+			executionContext.putInt(getExecutionContextKey(PAGE_OFFSET), offset);
+
+			if (incremental) {
+				advanceLastEditedTime(
+						Math.min(getCurrentItemCount() - currentPageStart, currentLastEditedTimes.size()));
+				if (lastEditedTime != null) {
+					executionContext.putString(getExecutionContextKey(LAST_EDITED_TIME), lastEditedTime.toString());
+				}
+			}
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The page containing the given item is requested directly via the saved cursor, if
+	 * any. Otherwise, the query is replayed from the beginning, skipping the items
+	 * without mapping them.
+	 */
+	@Override
+	protected void jumpToItem(int itemIndex) {
+		if (restartOffset >= 0) {
+			nextCursor = restartCursor;
+			try {
+				skipItems(itemIndex, restartOffset);
+				return;
+			}
+			catch (NotionAPIError e) {
+				if (e.getHttpResponse().getStatus() != 400) {
+					throw e;
+				}
+				logger.warn("Cursor '%s' rejected, replaying the query from the beginning".formatted(restartCursor), e);
+				nextCursor = null;
+				hasMore = true;
+			}
+		}
+
+		skipItems(itemIndex, itemIndex);
+	}
+
+	private void skipItems(int itemIndex, int offset) {
+		List<Map<String, Object>> items = queryNextPage();
+
+		while (offset >= items.size() && hasMore) {
+			offset -= items.size();
+			items = queryNextPage();
+		}
+
+		currentPageStart = itemIndex - offset;
+		results = map(items.stream().skip(offset));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
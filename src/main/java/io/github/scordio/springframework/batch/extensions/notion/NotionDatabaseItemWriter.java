@@ -0,0 +1,336 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.mapping.PropertyExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import notion.api.v1.NotionClient;
+import notion.api.v1.model.databases.DatabaseProperty;
+import org.springframework.batch.core.observability.BatchMetrics;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * {@link ItemWriter} that creates a page in a Notion database for each item.
+ * <p>
+ * The properties of each page are extracted from the item by the
+ * {@link #setPropertyExtractor(PropertyExtractor) property extractor} and encoded
+ * according to the database schema, retrieved when the writer is opened.
+ * <p>
+ * The pages of a chunk are created concurrently, with at most {@link #setMaxInFlight(int)
+ * maxInFlight} requests in flight at any time, so that the write throughput is bounded by
+ * the {@link #setRateLimiter(NotionRateLimiter) rate limiter} rather than by the network
+ * latency. The chunk is written once all its pages are created, or fails with the first
+ * failed creation, in which case no further pages are created.
+ * <p>
+ * As the Notion API is not transactional, the pages created before a failure are not
+ * rolled back, and retrying a failed chunk might create them again. For the same reason,
+ * failed creations are not retried, except for the requests rejected with HTTP status
+ * {@code 429} by the rate limiter.
+ * <p>
+ * This implementation is thread-safe between calls to {@link #open(ExecutionContext)}.
+ *
+ * @param <T> Type of item to be written
+ */
+public class NotionDatabaseItemWriter<T> implements ItemStreamWriter<T>, InitializingBean {
+
+	private static final String DEFAULT_BASE_URL = "https://api.notion.com/v1";
+
+	private static final int DEFAULT_MAX_IN_FLIGHT = 3;
+
+	private String baseUrl;
+
+	private String token;
+
+	private NotionClientFactory clientFactory;
+
+	private String databaseId;
+
+	private PropertyExtractor<T> propertyExtractor;
+
+	private NotionRateLimiter rateLimiter;
+
+	private int maxInFlight;
+
+	private Executor executor;
+
+	private MeterRegistry meterRegistry;
+
+	private NotionClient client;
+
+	private PageRequestEncoder encoder;
+
+	private Tag databaseTag;
+
+	/**
+	 * Create a new {@link NotionDatabaseItemWriter} with the following defaults:
+	 * <ul>
+	 * <li>{@code baseUrl} = {@value #DEFAULT_BASE_URL}</li>
+	 * <li>{@code maxInFlight} = {@value #DEFAULT_MAX_IN_FLIGHT}</li>
+	 * <li>{@code meterRegistry} = {@link Metrics#globalRegistry}</li>
+	 * </ul>
+	 */
+	public NotionDatabaseItemWriter() {
+		this.baseUrl = DEFAULT_BASE_URL;
+		this.maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+		this.meterRegistry = Metrics.globalRegistry;
+	}
+
+	/**
+	 * The base URL of the Notion API.
+	 * <p>
+	 * Defaults to {@value #DEFAULT_BASE_URL}.
+	 * <p>
+	 * A custom value can be provided for testing purposes (e.g., the URL of a WireMock
+	 * server).
+	 * @param baseUrl the base URL
+	 */
+	public void setBaseUrl(String baseUrl) {
+		this.baseUrl = Objects.requireNonNull(baseUrl);
+	}
+
+	/**
+	 * The Notion integration token.
+	 * <p>
+	 * Always required.
+	 * @param token the token
+	 */
+	public void setToken(String token) {
+		this.token = Objects.requireNonNull(token);
+	}
+
+	/**
+	 * The {@link NotionClientFactory} providing the client to the Notion API.
+	 * <p>
+	 * The same instance should be shared by all the readers and writers of the
+	 * application, so that connections are reused. If no factory is provided, a new
+	 * client is created by each {@link #open(ExecutionContext) open} and closed by the
+	 * corresponding {@link #close() close}.
+	 * @param clientFactory the client factory
+	 */
+	public void setClientFactory(NotionClientFactory clientFactory) {
+		this.clientFactory = Objects.requireNonNull(clientFactory);
+	}
+
+	/**
+	 * UUID of the database to write to.
+	 * <p>
+	 * Always required.
+	 * @param databaseId the database UUID
+	 */
+	public void setDatabaseId(String databaseId) {
+		this.databaseId = Objects.requireNonNull(databaseId);
+	}
+
+	/**
+	 * The {@link PropertyExtractor} responsible for extracting the properties of a Notion
+	 * page from an item.
+	 * <p>
+	 * Always required.
+	 * @param propertyExtractor the property extractor
+	 */
+	public void setPropertyExtractor(PropertyExtractor<T> propertyExtractor) {
+		this.propertyExtractor = Objects.requireNonNull(propertyExtractor);
+	}
+
+	/**
+	 * The {@link NotionRateLimiter} throttling the requests to the Notion API.
+	 * <p>
+	 * The same instance should be shared by all the readers and writers using the same
+	 * integration token. If no rate limiter is provided, requests are sent as fast as
+	 * {@link #setMaxInFlight(int) maxInFlight} allows, and any request rejected by the
+	 * Notion API due to rate limits fails the write.
+	 * @param rateLimiter the rate limiter
+	 */
+	public void setRateLimiter(NotionRateLimiter rateLimiter) {
+		this.rateLimiter = Objects.requireNonNull(rateLimiter);
+	}
+
+	/**
+	 * The maximum number of page creations in flight at any time.
+	 * <p>
+	 * Defaults to {@value #DEFAULT_MAX_IN_FLIGHT}. With {@code 1}, the pages are created
+	 * one at a time, following the order of the chunk items.
+	 * @param maxInFlight the number of page creations. Must be greater than 0.
+	 */
+	public void setMaxInFlight(int maxInFlight) {
+		Assert.isTrue(maxInFlight > 0, "maxInFlight must be greater than 0");
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * The {@link Executor} to use for creating pages.
+	 * <p>
+	 * Defaults to a {@link SimpleAsyncTaskExecutor}, using virtual threads when running
+	 * on Java 21 or later.
+	 * @param executor the executor
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = Objects.requireNonNull(executor);
+	}
+
+	/**
+	 * The {@link MeterRegistry} to register the writer metrics with.
+	 * <p>
+	 * The writer records the duration of each page creation, tagged with the database ID.
+	 * <p>
+	 * Defaults to {@link Metrics#globalRegistry}.
+	 * @param meterRegistry the meter registry
+	 */
+	public void setMeterRegistry(MeterRegistry meterRegistry) {
+		this.meterRegistry = Objects.requireNonNull(meterRegistry);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void open(ExecutionContext executionContext) {
+		if (executor == null) {
+			SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("notion-writer-");
+			taskExecutor.setVirtualThreads(Runtime.version().feature() >= 21);
+			executor = taskExecutor;
+		}
+
+		client = NotionClients.create(clientFactory, token, baseUrl);
+		databaseTag = Tag.of(BatchMetrics.METRICS_PREFIX + "notion.database.id", databaseId);
+
+		Map<String, DatabaseProperty> schema = execute(() -> client.retrieveDatabase(databaseId)).getProperties();
+		Map<String, String> typesByName = new HashMap<>(schema.size() * 2);
+		schema.forEach((name, property) -> typesByName.put(name, NotionClients.getType(property)));
+		encoder = new PageRequestEncoder(typesByName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(Chunk<? extends T> chunk) throws Exception {
+		Semaphore permits = new Semaphore(maxInFlight);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		try {
+			for (T item : chunk) {
+				String body = encoder.encode(databaseId, propertyExtractor.extract(item));
+
+				permits.acquire();
+				if (failure.get() != null) {
+					permits.release();
+					break;
+				}
+
+				try {
+					executor.execute(() -> {
+						try {
+							createPage(body);
+						}
+						catch (Throwable e) {
+							// also records checked exceptions thrown sneakily by the
+							// client
+							failure.compareAndSet(null, e);
+						}
+						finally {
+							permits.release();
+						}
+					});
+				}
+				catch (RuntimeException e) {
+					permits.release();
+					throw e;
+				}
+			}
+		}
+		finally {
+			// wait for the creations in flight, also when failing
+			permits.acquireUninterruptibly(maxInFlight);
+		}
+
+		Throwable throwable = failure.get();
+		if (throwable instanceof RuntimeException exception) {
+			throw exception;
+		}
+		if (throwable instanceof Error error) {
+			throw error;
+		}
+		if (throwable instanceof IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+		if (throwable != null) {
+			throw new IllegalStateException("Page creation failed", throwable);
+		}
+	}
+
+	private void createPage(String body) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String status = BatchMetrics.STATUS_FAILURE;
+		try {
+			execute(() -> {
+				NotionClients.createPage(client, body);
+				return null;
+			});
+			status = BatchMetrics.STATUS_SUCCESS;
+		}
+		finally {
+			sample.stop(BatchMetrics.createTimer(meterRegistry, "notion.page.creation", "Notion page creation duration",
+					databaseTag, Tag.of(BatchMetrics.METRICS_PREFIX + "notion.page.creation.status", status)));
+		}
+	}
+
+	private <R> R execute(Supplier<R> request) {
+		return rateLimiter != null ? rateLimiter.execute(request) : request.get();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+		if (client != null) {
+			NotionClients.release(clientFactory, client);
+		}
+		client = null;
+		encoder = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		Assert.state(token != null, "'token' must be set");
+		Assert.state(databaseId != null, "'databaseId' must be set");
+		Assert.state(propertyExtractor != null, "'propertyExtractor' must be set");
+	}
+
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.Filter.TopLevelFilter;
+import io.github.scordio.springframework.batch.extensions.notion.Sort.Direction;
+import notion.api.v1.NotionClient;
+import notion.api.v1.model.databases.QueryResults;
+import notion.api.v1.model.pages.Page;
+import notion.api.v1.model.pages.PageProperty;
+import notion.api.v1.request.databases.QueryDatabaseRequest;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.util.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * {@link Partitioner} that splits a Notion database into ranges of a {@code number}
+ * property, so that each range can be read by a dedicated
+ * {@link NotionDatabaseItemReader} in parallel.
+ * <p>
+ * Each partition {@link ExecutionContext} contains the inclusive lower bound of the range
+ * under the {@value #MIN_VALUE_KEY} key and the exclusive upper bound under the
+ * {@value #MAX_VALUE_KEY} key. The last partition has no upper bound, so that it also
+ * covers the highest property value. A step-scoped reader can then limit its items via
+ * {@link #rangeFilter(String, int, Integer)}.
+ * <p>
+ * If the bounds of the property values are not provided, they are retrieved from the
+ * database before partitioning, failing if they are outside the {@code int} range.
+ * Entries where the property is empty are not part of any range. The bound queries are
+ * throttled and retried like the page queries of the {@link NotionDatabaseItemReader}.
+ */
+public class NotionDatabasePartitioner implements Partitioner, InitializingBean {
+
+	/**
+	 * Key of the inclusive lower bound of a partition range.
+	 */
+	public static final String MIN_VALUE_KEY = "minValue";
+
+	/**
+	 * Key of the exclusive upper bound of a partition range, absent for the last
+	 * partition.
+	 */
+	public static final String MAX_VALUE_KEY = "maxValue";
+
+	private static final String DEFAULT_BASE_URL = "https://api.notion.com/v1";
+
+	private static final String PARTITION_PREFIX = "partition";
+
+	private static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	private String baseUrl;
+
+	private String token;
+
+	private NotionClientFactory clientFactory;
+
+	private NotionRateLimiter rateLimiter;
+
+	private int maxAttempts;
+
+	private BackOffPolicy backOffPolicy;
+
+	private String databaseId;
+
+	private String property;
+
+	private Integer minValue;
+
+	private Integer maxValue;
+
+	/**
+	 * Create a new {@link NotionDatabasePartitioner} with the following defaults:
+	 * <ul>
+	 * <li>{@code baseUrl} = {@value #DEFAULT_BASE_URL}</li>
+	 * <li>{@code maxAttempts} = {@value #DEFAULT_MAX_ATTEMPTS}</li>
+	 * <li>{@code backOffPolicy} = {@link ExponentialRandomBackOffPolicy}</li>
+	 * </ul>
+	 */
+	public NotionDatabasePartitioner() {
+		this.baseUrl = DEFAULT_BASE_URL;
+		this.maxAttempts = DEFAULT_MAX_ATTEMPTS;
+		this.backOffPolicy = new ExponentialRandomBackOffPolicy();
+	}
+
+	/**
+	 * Create a {@link Filter} that limits the returned items to the given range.
+	 * @param property the name of the {@code number} property, or the property ID
+	 * @param minValue the inclusive lower bound of the range
+	 * @param maxValue the exclusive upper bound of the range, or {@code null} for an
+	 * open-ended range
+	 * @return the {@link Filter} for the given range
+	 */
+	public static Filter rangeFilter(String property, int minValue, Integer maxValue) {
+		TopLevelFilter filter = Filter.where().number(property).isGreaterThanOrEqualTo(minValue);
+		return maxValue != null ? filter.and().number(property).isLessThan(maxValue) : filter;
+	}
+
+	/**
+	 * The base URL of the Notion API.
+	 * <p>
+	 * Defaults to {@value #DEFAULT_BASE_URL}.
+	 * <p>
+	 * A custom value can be provided for testing purposes (e.g., the URL of a WireMock
+	 * server).
+	 * @param baseUrl the base URL
+	 */
+	public void setBaseUrl(String baseUrl) {
+		this.baseUrl = Objects.requireNonNull(baseUrl);
+	}
+
+	/**
+	 * The Notion integration token.
+	 * <p>
+	 * Required if any of the bounds is not provided.
+	 * @param token the token
+	 */
+	public void setToken(String token) {
+		this.token = Objects.requireNonNull(token);
+	}
+
+	/**
+	 * The {@link NotionClientFactory} providing the client to the Notion API.
+	 * <p>
+	 * The same instance should be shared by all the readers and partitioners of the
+	 * application, so that connections are reused. If no factory is provided, a new
+	 * client is created by each {@link #partition(int)} call and closed afterward.
+	 * @param clientFactory the client factory
+	 */
+	public void setClientFactory(NotionClientFactory clientFactory) {
+		this.clientFactory = Objects.requireNonNull(clientFactory);
+	}
+
+	/**
+	 * The {@link NotionRateLimiter} throttling the requests to the Notion API.
+	 * <p>
+	 * The same instance should be shared by the readers using the same integration token.
+	 * If no rate limiter is provided, any request rejected by the Notion API due to rate
+	 * limits fails the partitioning.
+	 * @param rateLimiter the rate limiter
+	 */
+	public void setRateLimiter(NotionRateLimiter rateLimiter) {
+		this.rateLimiter = Objects.requireNonNull(rateLimiter);
+	}
+
+	/**
+	 * The maximum number of attempts for each bound query, including the first one.
+	 * <p>
+	 * Only failures that are likely to be transient are retried, i.e., responses with
+	 * HTTP status {@code 502}, {@code 503}, or {@code 504}, and socket or HTTP timeouts.
+	 * <p>
+	 * Defaults to {@value #DEFAULT_MAX_ATTEMPTS}.
+	 * @param maxAttempts the number of attempts. Must be greater than 0.
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be greater than 0");
+		this.maxAttempts = maxAttempts;
+	}
+
+	/**
+	 * The {@link BackOffPolicy} to apply between attempts of a bound query.
+	 * <p>
+	 * Defaults to an {@link ExponentialRandomBackOffPolicy}, i.e., an exponential backoff
+	 * with jitter.
+	 * @param backOffPolicy the backoff policy
+	 * @see #setMaxAttempts(int)
+	 */
+	public void setBackOffPolicy(BackOffPolicy backOffPolicy) {
+		this.backOffPolicy = Objects.requireNonNull(backOffPolicy);
+	}
+
+	/**
+	 * UUID of the database to partition.
+	 * <p>
+	 * Required if any of the bounds is not provided.
+	 * @param databaseId the database UUID
+	 */
+	public void setDatabaseId(String databaseId) {
+		this.databaseId = Objects.requireNonNull(databaseId);
+	}
+
+	/**
+	 * The {@code number} property to partition by.
+	 * <p>
+	 * Always required.
+	 * @param property the name of the property as it appears in the database, or the
+	 * property ID
+	 */
+	public void setProperty(String property) {
+		this.property = Objects.requireNonNull(property);
+	}
+
+	/**
+	 * The lowest property value, inclusive.
+	 * <p>
+	 * If not provided, it is retrieved from the database.
+	 * @param minValue the lowest property value
+	 */
+	public void setMinValue(int minValue) {
+		this.minValue = minValue;
+	}
+
+	/**
+	 * The highest property value, inclusive.
+	 * <p>
+	 * If not provided, it is retrieved from the database.
+	 * @param maxValue the highest property value
+	 */
+	public void setMaxValue(int maxValue) {
+		this.maxValue = maxValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The range of property values is split into at most {@code gridSize} ranges of equal
+	 * width. If the database does not contain any value for the property, no partitions
+	 * are returned.
+	 */
+	@Override
+	public Map<String, ExecutionContext> partition(int gridSize) {
+		Assert.isTrue(gridSize > 0, "gridSize must be greater than zero");
+
+		Integer lowest = minValue;
+		Integer highest = maxValue;
+
+		if (lowest == null || highest == null) {
+			NotionClient client = NotionClients.create(clientFactory, token, baseUrl);
+			RetryTemplate retryTemplate = createRetryTemplate();
+			try {
+				lowest = lowest != null ? lowest : findBoundary(client, retryTemplate, Direction.ASCENDING);
+				highest = highest != null ? highest : findBoundary(client, retryTemplate, Direction.DESCENDING);
+			}
+			finally {
+				NotionClients.release(clientFactory, client);
+			}
+		}
+
+		Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+
+		if (lowest == null || highest == null || lowest > highest) {
+			return partitions;
+		}
+
+		long span = (long) highest - lowest + 1;
+		long width = (span + gridSize - 1) / gridSize;
+
+		for (long start = lowest; start <= highest; start += width) {
+			ExecutionContext executionContext = new ExecutionContext();
+			executionContext.putInt(MIN_VALUE_KEY, (int) start);
+			if (start + width <= highest) {
+				executionContext.putInt(MAX_VALUE_KEY, (int) (start + width));
+			}
+			partitions.put(PARTITION_PREFIX + partitions.size(), executionContext);
+		}
+
+		return partitions;
+	}
+
+	private Integer findBoundary(NotionClient client, RetryTemplate retryTemplate, Direction direction) {
+		QueryDatabaseRequest request = new QueryDatabaseRequest(databaseId);
+		request.setFilter(Filter.where().number(property).isNotEmpty().toQueryTopLevelFilter());
+		request.setSorts(List.of(Sort.by(property, direction).toQuerySort()));
+		request.setPageSize(1);
+
+		QueryResults queryResults = client.getJsonSerializer()
+			.toQueryResults(execute(retryTemplate, () -> NotionClients.queryDatabase(client, request, List.of())));
+
+		if (queryResults.getResults().isEmpty()) {
+			return null;
+		}
+
+		Page page = queryResults.getResults().get(0);
+		PageProperty pageProperty = page.getProperties()
+			.entrySet()
+			.stream()
+			.filter(entry -> entry.getKey().equals(property) || property.equals(entry.getValue().getId()))
+			.map(Entry::getValue)
+			.findFirst()
+			.orElseThrow(() -> new IllegalStateException("Property not found: " + property));
+
+		double value = Math.floor(pageProperty.getNumber().doubleValue());
+
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw new IllegalStateException(
+					"Value of property '%s' out of int range: %s".formatted(property, pageProperty.getNumber()));
+		}
+
+		return (int) value;
+	}
+
+	private <R> R execute(RetryTemplate retryTemplate, Supplier<R> request) {
+		return retryTemplate.execute(context -> rateLimiter != null ? rateLimiter.execute(request) : request.get());
+	}
+
+	private RetryTemplate createRetryTemplate() {
+		RetryTemplate retryTemplate = new RetryTemplate();
+		retryTemplate.setRetryPolicy(new NotionRetryPolicy(maxAttempts));
+		retryTemplate.setBackOffPolicy(backOffPolicy);
+		return retryTemplate;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		Assert.state(property != null, "'property' must be set");
+		if (minValue == null || maxValue == null) {
+			Assert.state(token != null, "'token' must be set");
+			Assert.state(databaseId != null, "'databaseId' must be set");
+		}
+	}
+
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.Sort.Direction;
+import io.github.scordio.springframework.batch.extensions.notion.Sort.Timestamp;
+import notion.api.v1.NotionClient;
+import notion.api.v1.model.databases.QueryResults;
+import notion.api.v1.model.pages.Page;
+import notion.api.v1.request.databases.QueryDatabaseRequest;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+
+/**
+ * {@link Partitioner} that splits a Notion database into time windows of an entry
+ * {@link Timestamp}, so that each window can be read by a dedicated
+ * {@link NotionDatabaseItemReader} in parallel.
+ * <p>
+ * Windows are split adaptively: starting from a single window covering all the entries,
+ * the window with the highest estimated number of entries is halved until
+ * {@code gridSize} windows are available. The number of entries of each window is
+ * estimated by sampling the first {@value #SAMPLE_SIZE} entries in timestamp order, which
+ * requires one query per window.
+ * <p>
+ * Each partition {@link ExecutionContext} contains the inclusive start of the window, in
+ * ISO-8601 format, under the {@value #START_TIME_KEY} key and the exclusive end of the
+ * window under the {@value #END_TIME_KEY} key. The end is absent for the last window, so
+ * that entries created after partitioning are not missed. A step-scoped reader can then
+ * limit its items via {@link #rangeFilter(Timestamp, Instant, Instant)}.
+ * <p>
+ * The boundary and sample queries are throttled and retried like the page queries of the
+ * {@link NotionDatabaseItemReader}.
+ */
+public class NotionDatabaseTimestampPartitioner implements Partitioner, InitializingBean {
+
+	/**
+	 * Key of the inclusive start of a partition window.
+	 */
+	public static final String START_TIME_KEY = "startTime";
+
+	/**
+	 * Key of the exclusive end of a partition window.
+	 */
+	public static final String END_TIME_KEY = "endTime";
+
+	private static final String DEFAULT_BASE_URL = "https://api.notion.com/v1";
+
+	private static final String PARTITION_PREFIX = "partition";
+
+	private static final int SAMPLE_SIZE = 100;
+
+	private static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	// Notion timestamps are rounded to the minute
+	private static final Duration MIN_WINDOW = Duration.ofMinutes(1);
+
+	private String baseUrl;
+
+	private String token;
+
+	private NotionClientFactory clientFactory;
+
+	private NotionRateLimiter rateLimiter;
+
+	private int maxAttempts;
+
+	private BackOffPolicy backOffPolicy;
+
+	private String databaseId;
+
+	private Timestamp timestamp;
+
+	/**
+	 * Create a new {@link NotionDatabaseTimestampPartitioner} with the following
+	 * defaults:
+	 * <ul>
+	 * <li>{@code baseUrl} = {@value #DEFAULT_BASE_URL}</li>
+	 * <li>{@code timestamp} = {@link Timestamp#CREATED_TIME}</li>
+	 * <li>{@code maxAttempts} = {@value #DEFAULT_MAX_ATTEMPTS}</li>
+	 * <li>{@code backOffPolicy} = {@link ExponentialRandomBackOffPolicy}</li>
+	 * </ul>
+	 */
+	public NotionDatabaseTimestampPartitioner() {
+		this.baseUrl = DEFAULT_BASE_URL;
+		this.timestamp = Timestamp.CREATED_TIME;
+		this.maxAttempts = DEFAULT_MAX_ATTEMPTS;
+		this.backOffPolicy = new ExponentialRandomBackOffPolicy();
+	}
+
+	/**
+	 * Create a {@link Filter} that limits the returned items to the given window.
+	 * @param timestamp the {@link Timestamp} to filter against
+	 * @param startTime the inclusive start of the window
+	 * @param endTime the exclusive end of the window, or {@code null} if the window is
+	 * unbounded
+	 * @return the {@link Filter} for the given window
+	 */
+	public static Filter rangeFilter(Timestamp timestamp, Instant startTime, Instant endTime) {
+		Filter.TopLevelFilter filter = Filter.where().timestamp(timestamp).isOnOrAfter(startTime);
+		return endTime != null ? filter.and().timestamp(timestamp).isBefore(endTime) : filter;
+	}
+
+	/**
+	 * The base URL of the Notion API.
+	 * <p>
+	 * Defaults to {@value #DEFAULT_BASE_URL}.
+	 * <p>
+	 * A custom value can be provided for testing purposes (e.g., the URL of a WireMock
+	 * server).
+	 * @param baseUrl the base URL
+	 */
+	public void setBaseUrl(String baseUrl) {
+		this.baseUrl = Objects.requireNonNull(baseUrl);
+	}
+
+	/**
+	 * The Notion integration token.
+	 * <p>
+	 * Always required.
+	 * @param token the token
+	 */
+	public void setToken(String token) {
+		this.token = Objects.requireNonNull(token);
+	}
+
+	/**
+	 * The {@link NotionClientFactory} providing the client to the Notion API.
+	 * <p>
+	 * The same instance should be shared by all the readers and partitioners of the
+	 * application, so that connections are reused. If no factory is provided, a new
+	 * client is created by each {@link #partition(int)} call and closed afterward.
+	 * @param clientFactory the client factory
+	 */
+	public void setClientFactory(NotionClientFactory clientFactory) {
+		this.clientFactory = Objects.requireNonNull(clientFactory);
+	}
+
+	/**
+	 * The {@link NotionRateLimiter} throttling the requests to the Notion API.
+	 * <p>
+	 * The same instance should be shared by the readers using the same integration token.
+	 * If no rate limiter is provided, any request rejected by the Notion API due to rate
+	 * limits fails the partitioning.
+	 * @param rateLimiter the rate limiter
+	 */
+	public void setRateLimiter(NotionRateLimiter rateLimiter) {
+		this.rateLimiter = Objects.requireNonNull(rateLimiter);
+	}
+
+	/**
+	 * The maximum number of attempts for each boundary or sample query, including the
+	 * first one.
+	 * <p>
+	 * Only failures that are likely to be transient are retried, i.e., responses with
+	 * HTTP status {@code 502}, {@code 503}, or {@code 504}, and socket or HTTP timeouts.
+	 * <p>
+	 * Defaults to {@value #DEFAULT_MAX_ATTEMPTS}.
+	 * @param maxAttempts the number of attempts. Must be greater than 0.
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be greater than 0");
+		this.maxAttempts = maxAttempts;
+	}
+
+	/**
+	 * The {@link BackOffPolicy} to apply between attempts of a boundary or sample query.
+	 * <p>
+	 * Defaults to an {@link ExponentialRandomBackOffPolicy}, i.e., an exponential backoff
+	 * with jitter.
+	 * @param backOffPolicy the backoff policy
+	 * @see #setMaxAttempts(int)
+	 */
+	public void setBackOffPolicy(BackOffPolicy backOffPolicy) {
+		this.backOffPolicy = Objects.requireNonNull(backOffPolicy);
+	}
+
+	/**
+	 * UUID of the database to partition.
+	 * <p>
+	 * Always required.
+	 * @param databaseId the database UUID
+	 */
+	public void setDatabaseId(String databaseId) {
+		this.databaseId = Objects.requireNonNull(databaseId);
+	}
+
+	/**
+	 * The {@link Timestamp} to partition by.
+	 * <p>
+	 * Defaults to {@link Timestamp#CREATED_TIME}.
+	 * @param timestamp the timestamp
+	 */
+	public void setTimestamp(Timestamp timestamp) {
+		this.timestamp = Objects.requireNonNull(timestamp);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If the database is empty, no partitions are returned.
+	 */
+	@Override
+	public Map<String, ExecutionContext> partition(int gridSize) {
+		Assert.isTrue(gridSize > 0, "gridSize must be greater than zero");
+
+		Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+
+		NotionClient client = NotionClients.create(clientFactory, token, baseUrl);
+		RetryTemplate retryTemplate = createRetryTemplate();
+		try {
+			Instant first = findBoundary(client, retryTemplate, Direction.ASCENDING);
+			Instant last = findBoundary(client, retryTemplate, Direction.DESCENDING);
+
+			if (first == null || last == null) {
+				return partitions;
+			}
+
+			PriorityQueue<Window> splittable = new PriorityQueue<>(
+					Comparator.comparingDouble(Window::estimatedSize).reversed());
+			List<Window> windows = new ArrayList<>();
+
+			splittable.add(sample(client, retryTemplate, first, last.plus(MIN_WINDOW)));
+
+			while (!splittable.isEmpty() && splittable.size() + windows.size() < gridSize) {
+				Window window = splittable.remove();
+				Duration halfWidth = Duration.between(window.start(), window.end()).dividedBy(2);
+
+				if (window.estimatedSize() <= 1 || halfWidth.compareTo(MIN_WINDOW) < 0) {
+					windows.add(window);
+					continue;
+				}
+
+				Instant middle = window.start().plus(halfWidth);
+				splittable.add(sample(client, retryTemplate, window.start(), middle));
+				splittable.add(sample(client, retryTemplate, middle, window.end()));
+			}
+
+			windows.addAll(splittable);
+			windows.sort(Comparator.comparing(Window::start));
+
+			for (int i = 0; i < windows.size(); i++) {
+				ExecutionContext executionContext = new ExecutionContext();
+				executionContext.putString(START_TIME_KEY, windows.get(i).start().toString());
+				if (i < windows.size() - 1) {
+					executionContext.putString(END_TIME_KEY, windows.get(i).end().toString());
+				}
+				partitions.put(PARTITION_PREFIX + i, executionContext);
+			}
+		}
+		finally {
+			NotionClients.release(clientFactory, client);
+		}
+
+		return partitions;
+	}
+
+	private Instant findBoundary(NotionClient client, RetryTemplate retryTemplate, Direction direction) {
+		QueryDatabaseRequest request = new QueryDatabaseRequest(databaseId);
+		request.setSorts(List.of(Sort.by(timestamp, direction).toQuerySort()));
+		request.setPageSize(1);
+
+		List<Page> results = queryDatabase(client, retryTemplate, request).getResults();
+
+		return results.isEmpty() ? null : getTimestamp(results.get(0));
+	}
+
+	private Window sample(NotionClient client, RetryTemplate retryTemplate, Instant start, Instant end) {
+		QueryDatabaseRequest request = new QueryDatabaseRequest(databaseId);
+		request.setFilter(rangeFilter(timestamp, start, end).toQueryTopLevelFilter());
+		request.setSorts(List.of(Sort.by(timestamp).toQuerySort()));
+		request.setPageSize(SAMPLE_SIZE);
+
+		QueryResults queryResults = queryDatabase(client, retryTemplate, request);
+		List<Page> results = queryResults.getResults();
+
+		if (!queryResults.getHasMore()) {
+			return new Window(start, end, results.size());
+		}
+
+		Instant lastSampled = getTimestamp(results.get(results.size() - 1));
+		long sampledMillis = Math.max(Duration.between(start, lastSampled).toMillis(), MIN_WINDOW.toMillis());
+		long windowMillis = Duration.between(start, end).toMillis();
+
+		return new Window(start, end, (double) results.size() * windowMillis / sampledMillis);
+	}
+
+	private QueryResults queryDatabase(NotionClient client, RetryTemplate retryTemplate, QueryDatabaseRequest request) {
+		return client.getJsonSerializer()
+			.toQueryResults(execute(retryTemplate, () -> NotionClients.queryDatabase(client, request, List.of())));
+	}
+
+	private <R> R execute(RetryTemplate retryTemplate, Supplier<R> request) {
+		return retryTemplate.execute(context -> rateLimiter != null ? rateLimiter.execute(request) : request.get());
+	}
+
+	private RetryTemplate createRetryTemplate() {
+		RetryTemplate retryTemplate = new RetryTemplate();
+		retryTemplate.setRetryPolicy(new NotionRetryPolicy(maxAttempts));
+		retryTemplate.setBackOffPolicy(backOffPolicy);
+		return retryTemplate;
+	}
+
+	private Instant getTimestamp(Page page) {
+		return Instant.parse(switch (timestamp) {
+			case CREATED_TIME -> page.getCreatedTime();
+			case LAST_EDITED_TIME -> page.getLastEditedTime();
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		Assert.state(token != null, "'token' must be set");
+		Assert.state(databaseId != null, "'databaseId' must be set");
+	}
+
+	private record Window(Instant start, Instant end, double estimatedSize) {
+	}
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import notion.api.v1.http.JavaNetHttpClient;
+import notion.api.v1.http.NotionHttpClient;
+import notion.api.v1.http.NotionHttpClient.DefaultImpls;
+import notion.api.v1.http.NotionHttpResponse;
+import notion.api.v1.logging.NotionLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Factory of the {@link NotionHttpClient} implementations used by this library.
+ * <p>
+ * All the implementations throw an {@link UncheckedIOException} for any I/O failure.
+ * Being written in Kotlin, the {@link JavaNetHttpClient} of the Notion SDK would
+ * otherwise throw checked exceptions that Java callers neither declare nor expect.
+ */
+class NotionHttpClients {
+
+	/**
+	 * Create a client backed by a {@link JavaNetHttpClient} with the default settings of
+	 * the Notion SDK.
+	 */
+	static NotionHttpClient create() {
+		return new UncheckedIOHttpClient(new JavaNetHttpClient());
+	}
+
+	/**
+	 * Create a client backed by a {@link JavaNetHttpClient} with the given timeouts.
+	 */
+	static NotionHttpClient create(Duration connectTimeout, Duration readTimeout) {
+		return new UncheckedIOHttpClient(new JavaNetHttpClient(Math.toIntExact(connectTimeout.toMillis()),
+				Math.toIntExact(readTimeout.toMillis())));
+	}
+
+	/**
+	 * Create a client backed by the given {@link HttpClient}, which is owned by the
+	 * caller and not closed with the returned client.
+	 */
+	static NotionHttpClient create(HttpClient httpClient, Duration readTimeout) {
+		return new HttpClientAdapter(httpClient, readTimeout);
+	}
+
+	/**
+	 * Base class implementing the helper methods of {@link NotionHttpClient} like the
+	 * Notion SDK does.
+	 */
+	private abstract static class AbstractNotionHttpClient implements NotionHttpClient {
+
+		@Override
+		public String urlEncode(String value) {
+			return DefaultImpls.urlEncode(this, value);
+		}
+
+		@Override
+		public String buildQueryString(Map<String, ? extends List<String>> query) {
+			return DefaultImpls.buildQueryString(this, query);
+		}
+
+		@Override
+		public String buildFullUrl(String url, String queryString) {
+			return DefaultImpls.buildFullUrl(this, url, queryString);
+		}
+
+		@Override
+		public void debugLogStart(NotionLogger logger, String method, String fullUrl, String body) {
+			DefaultImpls.debugLogStart(this, logger, method, fullUrl, body);
+		}
+
+		@Override
+		public void debugLogSuccess(NotionLogger logger, long startTimeMillis, NotionHttpResponse response) {
+			DefaultImpls.debugLogSuccess(this, logger, startTimeMillis, response);
+		}
+
+		@Override
+		public void warnLogFailure(NotionLogger logger, Exception e) {
+			DefaultImpls.warnLogFailure(this, logger, e);
+		}
+
+	}
+
+	/**
+	 * Decorator of a {@link NotionHttpClient} converting the checked exceptions thrown by
+	 * the delegate.
+	 */
+	private static final class UncheckedIOHttpClient extends AbstractNotionHttpClient {
+
+		private final NotionHttpClient delegate;
+
+		private UncheckedIOHttpClient(NotionHttpClient delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public NotionHttpResponse get(NotionLogger logger, String url, Map<String, ? extends List<String>> query,
+				Map<String, String> headers) {
+			return send(() -> delegate.get(logger, url, query, headers));
+		}
+
+		@Override
+		public NotionHttpResponse postTextBody(NotionLogger logger, String url,
+				Map<String, ? extends List<String>> query, String body, Map<String, String> headers) {
+			return send(() -> delegate.postTextBody(logger, url, query, body, headers));
+		}
+
+		@Override
+		public NotionHttpResponse patchTextBody(NotionLogger logger, String url,
+				Map<String, ? extends List<String>> query, String body, Map<String, String> headers) {
+			return send(() -> delegate.patchTextBody(logger, url, query, body, headers));
+		}
+
+		@Override
+		public NotionHttpResponse delete(NotionLogger logger, String url, Map<String, ? extends List<String>> query,
+				Map<String, String> headers) {
+			return send(() -> delegate.delete(logger, url, query, headers));
+		}
+
+		@Override
+		public void close() {
+			delegate.close();
+		}
+
+		@Override
+		public String toString() {
+			return "NotionHttpClient[" + delegate + "]";
+		}
+
+		private static NotionHttpResponse send(Supplier<NotionHttpResponse> request) {
+			try {
+				return request.get();
+			}
+			catch (Exception e) {
+				// the Kotlin client throws checked exceptions without declaring them
+				if (e instanceof IOException ioException) {
+					throw new UncheckedIOException(ioException);
+				}
+				if (e instanceof InterruptedException) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for the response", e);
+				}
+				throw e;
+			}
+		}
+
+	}
+
+	/**
+	 * Adapter of a {@link HttpClient} to the {@link NotionHttpClient} interface.
+	 */
+	private static final class HttpClientAdapter extends AbstractNotionHttpClient {
+
+		private final HttpClient httpClient;
+
+		private final Duration readTimeout;
+
+		private HttpClientAdapter(HttpClient httpClient, Duration readTimeout) {
+			this.httpClient = httpClient;
+			this.readTimeout = readTimeout;
+		}
+
+		@Override
+		public NotionHttpResponse get(NotionLogger logger, String url, Map<String, ? extends List<String>> query,
+				Map<String, String> headers) {
+			return send(logger, "GET", url, query, null, headers);
+		}
+
+		@Override
+		public NotionHttpResponse postTextBody(NotionLogger logger, String url,
+				Map<String, ? extends List<String>> query, String body, Map<String, String> headers) {
+			return send(logger, "POST", url, query, body, headers);
+		}
+
+		@Override
+		public NotionHttpResponse patchTextBody(NotionLogger logger, String url,
+				Map<String, ? extends List<String>> query, String body, Map<String, String> headers) {
+			return send(logger, "PATCH", url, query, body, headers);
+		}
+
+		@Override
+		public NotionHttpResponse delete(NotionLogger logger, String url, Map<String, ? extends List<String>> query,
+				Map<String, String> headers) {
+			return send(logger, "DELETE", url, query, null, headers);
+		}
+
+		@Override
+		public void close() {
+			// the HTTP client is owned by the caller
+		}
+
+		@Override
+		public String toString() {
+			return "NotionHttpClient[" + httpClient + "]";
+		}
+
+		private NotionHttpResponse send(NotionLogger logger, String method, String url,
+				Map<String, ? extends List<String>> query, String body, Map<String, String> headers) {
+			long startTimeMillis = System.currentTimeMillis();
+			String fullUrl = buildFullUrl(url, buildQueryString(query));
+
+			BodyPublisher bodyPublisher = body != null ? BodyPublishers.ofString(body, StandardCharsets.UTF_8)
+					: BodyPublishers.noBody();
+			HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(fullUrl))
+				.method(method, bodyPublisher)
+				.timeout(readTimeout);
+			headers.forEach(builder::header);
+			HttpRequest request = builder.build();
+
+			debugLogStart(logger, method, fullUrl, body);
+			try {
+				HttpResponse<String> response = httpClient.send(request, BodyHandlers.ofString());
+				NotionHttpResponse notionResponse = new NotionHttpResponse(response.statusCode(), response.body(),
+						response.headers().map());
+				debugLogSuccess(logger, startTimeMillis, notionResponse);
+				return notionResponse;
+			}
+			catch (IOException e) {
+				warnLogFailure(logger, e);
+				throw new UncheckedIOException(e);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the response", e);
+			}
+		}
+
+	}
+
+}
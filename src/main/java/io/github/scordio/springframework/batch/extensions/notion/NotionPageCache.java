@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.QueryResultsDecoder.DecodedResults;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory cache of the decoded pages of database queries, with least recently used
+ * eviction.
+ * <p>
+ * Each page is identified by the integration token, the database, the filter, the sorts,
+ * the cursor, the page size and the decoded properties, and weighted by the size of its
+ * response body. Pages older than the time to live are no longer served, and the least
+ * recently used pages are evicted when the total weight of the cache exceeds the maximum
+ * size.
+ * <p>
+ * A single instance can be shared by all the readers of an application, so that readers
+ * querying the same database with the same filter and sorts, for example reference data
+ * read by several steps, send each page query only once within the time to live. As the
+ * decoded pages are read-only, they are served without copying.
+ * <p>
+ * This implementation is thread-safe.
+ */
+public class NotionPageCache {
+
+	private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+	private static final long DEFAULT_MAX_SIZE = 10 * 1024 * 1024;
+
+	private final Map<String, CachedPage> pages = new LinkedHashMap<>(16, 0.75f, true);
+
+	private Duration timeToLive;
+
+	private long maxSize;
+
+	private long size;
+
+	/**
+	 * Create a new {@link NotionPageCache} with the following defaults:
+	 * <ul>
+	 * <li>{@code timeToLive} = 10 minutes</li>
+	 * <li>{@code maxSize} = 10 MB</li>
+	 * </ul>
+	 */
+	public NotionPageCache() {
+		this.timeToLive = DEFAULT_TIME_TO_LIVE;
+		this.maxSize = DEFAULT_MAX_SIZE;
+	}
+
+	/**
+	 * The time after which a page is no longer served.
+	 * <p>
+	 * Defaults to 10 minutes.
+	 * @param timeToLive the time to live. Must be positive.
+	 */
+	public synchronized void setTimeToLive(Duration timeToLive) {
+		Assert.isTrue(timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(),
+				"timeToLive must be positive");
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * The maximum total size of the pages, measured as the size of their response bodies
+	 * in bytes.
+	 * <p>
+	 * Defaults to 10 MB.
+	 * @param maxSize the number of bytes. Must be greater than 0.
+	 */
+	public synchronized void setMaxSize(long maxSize) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		this.maxSize = maxSize;
+		evict();
+	}
+
+	/**
+	 * Return the total size of the cached pages, measured as the size of their response
+	 * bodies in bytes.
+	 * @return the number of bytes
+	 */
+	public synchronized long getSize() {
+		return size;
+	}
+
+	/**
+	 * Remove all the pages.
+	 */
+	public synchronized void clear() {
+		pages.clear();
+		size = 0;
+	}
+
+	synchronized DecodedResults get(String key) {
+		CachedPage page = pages.get(key);
+		if (page == null) {
+			return null;
+		}
+		if (page.expiresAt() - System.nanoTime() < 0) {
+			pages.remove(key);
+			size -= page.size();
+			return null;
+		}
+		return page.results();
+	}
+
+	synchronized void put(String key, DecodedResults results, long size) {
+		if (size > maxSize) {
+			return;
+		}
+
+		DecodedResults readOnlyResults = new DecodedResults(Collections.unmodifiableList(results.items()),
+				Collections.unmodifiableList(results.lastEditedTimes()), results.hasMore(), results.nextCursor());
+
+		CachedPage previous = pages.put(key,
+				new CachedPage(readOnlyResults, size, System.nanoTime() + timeToLive.toNanos()));
+		if (previous != null) {
+			this.size -= previous.size();
+		}
+		this.size += size;
+
+		evict();
+	}
+
+	private void evict() {
+		Iterator<CachedPage> iterator = pages.values().iterator();
+		while (size > maxSize && iterator.hasNext()) {
+			size -= iterator.next().size();
+			iterator.remove();
+		}
+	}
+
+	private record CachedPage(DecodedResults results, long size, long expiresAt) {
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalescer of identical concurrent database queries.
+ * <p>
+ * While a query is in flight, any identical query, i.e., with the same integration token,
+ * database, filter, sorts, cursor, page size and requested properties, waits for the
+ * response of the former instead of being sent to the Notion API. A failure of the query
+ * in flight is propagated to all the waiting queries.
+ * <p>
+ * A single instance can be shared by all the readers of an application, for example the
+ * readers of concurrent flows querying the same database.
+ * <p>
+ * This implementation is thread-safe.
+ */
+public class NotionQueryCoalescer {
+
+	private final ConcurrentMap<String, CompletableFuture<String>> inFlightQueries = new ConcurrentHashMap<>();
+
+	private final LongAdder coalescedQueries = new LongAdder();
+
+	/**
+	 * Return the number of queries served by the response of an identical query in
+	 * flight.
+	 * @return the number of coalesced queries
+	 */
+	public long getCoalescedQueries() {
+		return coalescedQueries.sum();
+	}
+
+	String execute(String key, Supplier<String> query) {
+		CompletableFuture<String> future = new CompletableFuture<>();
+		CompletableFuture<String> inFlightQuery = inFlightQueries.putIfAbsent(key, future);
+
+		if (inFlightQuery != null) {
+			coalescedQueries.increment();
+			try {
+				return inFlightQuery.join();
+			}
+			catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException cause ? cause : e;
+			}
+		}
+
+		try {
+			String body = query.get();
+			future.complete(body);
+			return body;
+		}
+		catch (Throwable e) {
+			// also completes the waiting queries on checked exceptions thrown sneakily
+			future.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			inFlightQueries.remove(key, future);
+		}
+	}
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import notion.api.v1.exception.NotionAPIError;
+import notion.api.v1.http.NotionHttpResponse;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Token bucket throttling the requests sent to the Notion API.
+ * <p>
+ * A single instance is meant to be shared by all the components using the same
+ * integration token, e.g., the readers of a partitioned step, so that their combined
+ * request rate stays within the Notion rate limits.
+ * <p>
+ * When a request is rejected with HTTP status {@code 429}, all the requests are paused
+ * for the duration indicated by the {@code Retry-After} response header, the rejected
+ * request is retried, and the rate is halved. The rate is then gradually increased back
+ * to the configured one with each successful request.
+ * <p>
+ * This implementation is thread-safe.
+ *
+ * @see <a href="https://developers.notion.com/reference/request-limits">Request
+ * limits</a>
+ */
+public class NotionRateLimiter {
+
+	private static final double DEFAULT_REQUESTS_PER_SECOND = 3;
+
+	private static final int DEFAULT_BURST = 3;
+
+	private static final int DEFAULT_MAX_RETRIES = 5;
+
+	private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+	private static final String RETRY_AFTER = "Retry-After";
+
+	private static final Log logger = LogFactory.getLog(NotionRateLimiter.class);
+
+	private double requestsPerSecond;
+
+	private int burst;
+
+	private int maxRetries;
+
+	private double currentRequestsPerSecond;
+
+	private long nextFreeTime;
+
+	private long pausedUntil;
+
+	private long totalWaitTime;
+
+	/**
+	 * Create a new {@link NotionRateLimiter} with the following defaults:
+	 * <ul>
+	 * <li>{@code requestsPerSecond} = 3</li>
+	 * <li>{@code burst} = {@value #DEFAULT_BURST}</li>
+	 * <li>{@code maxRetries} = {@value #DEFAULT_MAX_RETRIES}</li>
+	 * </ul>
+	 */
+	public NotionRateLimiter() {
+		this.requestsPerSecond = DEFAULT_REQUESTS_PER_SECOND;
+		this.currentRequestsPerSecond = DEFAULT_REQUESTS_PER_SECOND;
+		this.burst = DEFAULT_BURST;
+		this.maxRetries = DEFAULT_MAX_RETRIES;
+		// start with a full bucket
+		this.nextFreeTime = System.nanoTime() - TimeUnit.HOURS.toNanos(1);
+		this.pausedUntil = nextFreeTime;
+	}
+
+	/**
+	 * The maximum number of requests per second.
+	 * <p>
+	 * Defaults to 3, the average rate allowed by Notion for each integration.
+	 * @param requestsPerSecond the number of requests. Must be greater than 0.
+	 */
+	public synchronized void setRequestsPerSecond(double requestsPerSecond) {
+		Assert.isTrue(requestsPerSecond > 0, "requestsPerSecond must be greater than 0");
+		this.requestsPerSecond = requestsPerSecond;
+		this.currentRequestsPerSecond = requestsPerSecond;
+	}
+
+	/**
+	 * The number of requests that can be sent without waiting after a period of
+	 * inactivity.
+	 * <p>
+	 * Defaults to {@value #DEFAULT_BURST}.
+	 * @param burst the number of requests. Must be greater than 0.
+	 */
+	public synchronized void setBurst(int burst) {
+		Assert.isTrue(burst > 0, "burst must be greater than 0");
+		this.burst = burst;
+	}
+
+	/**
+	 * The maximum number of times a request rejected with HTTP status {@code 429} is
+	 * retried.
+	 * <p>
+	 * Defaults to {@value #DEFAULT_MAX_RETRIES}.
+	 * @param maxRetries the number of retries. Must be greater than or equal to 0.
+	 */
+	public synchronized void setMaxRetries(int maxRetries) {
+		Assert.isTrue(maxRetries >= 0, "maxRetries must be greater than or equal to 0");
+		this.maxRetries = maxRetries;
+	}
+
+	/**
+	 * Return the current number of requests per second, which is lower than the
+	 * configured one after the Notion API rejected some requests.
+	 * @return the current number of requests per second
+	 */
+	public synchronized double getCurrentRequestsPerSecond() {
+		return currentRequestsPerSecond;
+	}
+
+	/**
+	 * Return the total time spent waiting for the rate limiter.
+	 * @return the total waiting time
+	 */
+	public synchronized Duration getTotalWaitTime() {
+		return Duration.ofNanos(totalWaitTime);
+	}
+
+	<T> T execute(Supplier<T> request) {
+		return execute(request, waitTime -> {
+		});
+	}
+
+	/**
+	 * Execute the given request like {@link #execute(Supplier)}, notifying the given
+	 * listener of the time spent waiting before each attempt.
+	 */
+	<T> T execute(Supplier<T> request, Consumer<Duration> waitTimeListener) {
+		for (int retries = 0;; retries++) {
+			waitTimeListener.accept(acquire());
+			try {
+				T result = request.get();
+				onSuccess();
+				return result;
+			}
+			catch (NotionAPIError e) {
+				if (e.getHttpResponse().getStatus() != 429 || !canRetry(retries)) {
+					throw e;
+				}
+				Duration retryAfter = getRetryAfter(e.getHttpResponse());
+				logger.debug("Request rate limited, retrying after " + retryAfter);
+				onRateLimited(retryAfter);
+			}
+		}
+	}
+
+	Duration acquire() {
+		long waitTime = reserve();
+
+		if (waitTime > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(waitTime);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the rate limiter", e);
+			}
+		}
+
+		return Duration.ofNanos(waitTime);
+	}
+
+	private synchronized long reserve() {
+		long now = System.nanoTime();
+		long interval = (long) (TimeUnit.SECONDS.toNanos(1) / currentRequestsPerSecond);
+
+		long slot = Math.max(nextFreeTime, now - (burst - 1) * interval);
+		slot = Math.max(slot, pausedUntil);
+		nextFreeTime = slot + interval;
+
+		long waitTime = Math.max(slot - now, 0);
+		totalWaitTime += waitTime;
+		return waitTime;
+	}
+
+	private synchronized boolean canRetry(int retries) {
+		return retries < maxRetries;
+	}
+
+	synchronized void onSuccess() {
+		currentRequestsPerSecond = Math.min(requestsPerSecond, currentRequestsPerSecond + requestsPerSecond / 20);
+	}
+
+	synchronized void onRateLimited(Duration retryAfter) {
+		currentRequestsPerSecond = Math.max(requestsPerSecond / 10, currentRequestsPerSecond / 2);
+		pausedUntil = Math.max(pausedUntil, System.nanoTime() + retryAfter.toNanos());
+	}
+
+	private static Duration getRetryAfter(NotionHttpResponse response) {
+		return response.getHeaders()
+			.entrySet()
+			.stream()
+			.filter(header -> RETRY_AFTER.equalsIgnoreCase(header.getKey()))
+			.map(Entry::getValue)
+			.flatMap(List::stream)
+			.findFirst()
+			.map(NotionRateLimiter::parseSeconds)
+			.orElse(DEFAULT_RETRY_AFTER);
+	}
+
+	private static Duration parseSeconds(String value) {
+		try {
+			return Duration.ofMillis((long) (Double.parseDouble(value.trim()) * 1000));
+		}
+		catch (NumberFormatException e) {
+			return DEFAULT_RETRY_AFTER;
+		}
+	}
+
+}
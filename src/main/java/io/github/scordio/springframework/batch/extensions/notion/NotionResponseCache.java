@@ -0,0 +1,257 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Disk-backed cache of the raw responses of database queries.
+ * <p>
+ * Each response is stored in a file of the cache directory, named after a digest of the
+ * integration token, the database, the filter, the sorts, the cursor, the page size and
+ * the requested properties. Responses older than the time to live are ignored and
+ * deleted, and the least recently written responses are deleted when the total size of
+ * the cache exceeds the maximum size.
+ * <p>
+ * A single instance can be shared by all the readers of an application, and the same
+ * directory can be shared by different applications, so that a job rerun within the time
+ * to live reads the pages from the disk instead of the Notion API. As the cursors of the
+ * cached responses might expire, the time to live should not exceed a few minutes.
+ * <p>
+ * Failures to read or write the cache are logged and treated as cache misses.
+ * <p>
+ * This implementation is thread-safe.
+ */
+public class NotionResponseCache {
+
+	private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+	private static final long DEFAULT_MAX_SIZE = 100 * 1024 * 1024;
+
+	private static final String EXTENSION = ".json";
+
+	private static final Log logger = LogFactory.getLog(NotionResponseCache.class);
+
+	private Path directory;
+
+	private Duration timeToLive;
+
+	private long maxSize;
+
+	private long size = -1;
+
+	/**
+	 * Create a new {@link NotionResponseCache} with the following defaults:
+	 * <ul>
+	 * <li>{@code directory} = {@code spring-batch-notion} in the temporary directory</li>
+	 * <li>{@code timeToLive} = 10 minutes</li>
+	 * <li>{@code maxSize} = 100 MB</li>
+	 * </ul>
+	 */
+	public NotionResponseCache() {
+		this.directory = Path.of(System.getProperty("java.io.tmpdir"), "spring-batch-notion");
+		this.timeToLive = DEFAULT_TIME_TO_LIVE;
+		this.maxSize = DEFAULT_MAX_SIZE;
+	}
+
+	/**
+	 * The directory storing the responses, created if missing.
+	 * <p>
+	 * Defaults to {@code spring-batch-notion} in the temporary directory.
+	 * @param directory the directory
+	 */
+	public synchronized void setDirectory(Path directory) {
+		this.directory = Objects.requireNonNull(directory);
+		this.size = -1;
+	}
+
+	/**
+	 * The time after which a response is no longer served.
+	 * <p>
+	 * Defaults to 10 minutes.
+	 * @param timeToLive the time to live. Must be positive.
+	 */
+	public synchronized void setTimeToLive(Duration timeToLive) {
+		Assert.isTrue(timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(),
+				"timeToLive must be positive");
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * The maximum total size of the responses, in bytes.
+	 * <p>
+	 * Defaults to 100 MB.
+	 * @param maxSize the number of bytes. Must be greater than 0.
+	 */
+	public synchronized void setMaxSize(long maxSize) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Delete all the responses.
+	 */
+	public synchronized void clear() {
+		for (Path file : listFiles()) {
+			delete(file);
+		}
+		size = 0;
+	}
+
+	String get(String key) {
+		Path file;
+		Duration timeToLive;
+		synchronized (this) {
+			file = directory.resolve(fileName(key));
+			timeToLive = this.timeToLive;
+		}
+
+		try {
+			if (isExpired(Files.getLastModifiedTime(file), timeToLive)) {
+				delete(file);
+				return null;
+			}
+			return Files.readString(file, StandardCharsets.UTF_8);
+		}
+		catch (NoSuchFileException e) {
+			return null;
+		}
+		catch (IOException e) {
+			logger.warn("Failed to read cached response " + file, e);
+			return null;
+		}
+	}
+
+	void put(String key, String body) {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+		synchronized (this) {
+			if (bytes.length > maxSize) {
+				return;
+			}
+
+			try {
+				Files.createDirectories(directory);
+				Path temporaryFile = Files.createTempFile(directory, "response", ".tmp");
+				Files.write(temporaryFile, bytes);
+				Files.move(temporaryFile, directory.resolve(fileName(key)), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (IOException e) {
+				logger.warn("Failed to cache response in " + directory, e);
+				return;
+			}
+
+			size = (size < 0 ? computeSize() : size) + bytes.length;
+			if (size > maxSize) {
+				evict();
+			}
+		}
+	}
+
+	private void evict() {
+		List<CachedResponse> responses = new ArrayList<>();
+		for (Path file : listFiles()) {
+			try {
+				FileTime lastModifiedTime = Files.getLastModifiedTime(file);
+				if (isExpired(lastModifiedTime, timeToLive)) {
+					delete(file);
+				}
+				else {
+					responses.add(new CachedResponse(file, lastModifiedTime, Files.size(file)));
+				}
+			}
+			catch (IOException e) {
+				// deleted concurrently
+			}
+		}
+
+		responses.sort(Comparator.comparing(CachedResponse::lastModifiedTime));
+		size = responses.stream().mapToLong(CachedResponse::size).sum();
+
+		for (CachedResponse response : responses) {
+			if (size <= maxSize) {
+				break;
+			}
+			delete(response.file());
+			size -= response.size();
+		}
+	}
+
+	private long computeSize() {
+		long total = 0;
+		for (Path file : listFiles()) {
+			try {
+				total += Files.size(file);
+			}
+			catch (IOException e) {
+				// deleted concurrently
+			}
+		}
+		return total;
+	}
+
+	private List<Path> listFiles() {
+		if (!Files.isDirectory(directory)) {
+			return List.of();
+		}
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(EXTENSION)).toList();
+		}
+		catch (IOException e) {
+			logger.warn("Failed to list cached responses in " + directory, e);
+			return List.of();
+		}
+	}
+
+	private static boolean isExpired(FileTime lastModifiedTime, Duration timeToLive) {
+		return lastModifiedTime.toInstant().plus(timeToLive).isBefore(Instant.now());
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException e) {
+			logger.warn("Failed to delete cached response " + file, e);
+		}
+	}
+
+	private static String fileName(String key) {
+		return NotionClients.digest(key) + EXTENSION;
+	}
+
+	private record CachedResponse(Path file, FileTime lastModifiedTime, long size) {
+	}
+
+}
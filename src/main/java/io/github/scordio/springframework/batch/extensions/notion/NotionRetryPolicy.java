@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import notion.api.v1.exception.NotionAPIError;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Set;
+
+/**
+ * {@link SimpleRetryPolicy} retrying only the failures that are likely to be transient:
+ * <ul>
+ * <li>responses with HTTP status {@code 502}, {@code 503}, or {@code 504}</li>
+ * <li>socket or HTTP timeouts, possibly wrapped in other exceptions</li>
+ * </ul>
+ */
+class NotionRetryPolicy extends SimpleRetryPolicy {
+
+	private static final Set<Integer> TRANSIENT_STATUSES = Set.of(502, 503, 504);
+
+	NotionRetryPolicy(int maxAttempts) {
+		super(maxAttempts);
+	}
+
+	@Override
+	public boolean canRetry(RetryContext context) {
+		Throwable lastThrowable = context.getLastThrowable();
+		return (lastThrowable == null || isTransient(lastThrowable)) && context.getRetryCount() < getMaxAttempts();
+	}
+
+	static boolean isTransient(Throwable throwable) {
+		for (Throwable current = throwable; current != null; current = current.getCause()) {
+			if (current instanceof NotionAPIError error) {
+				return TRANSIENT_STATUSES.contains(error.getHttpResponse().getStatus());
+			}
+			if (current instanceof SocketTimeoutException || current instanceof HttpTimeoutException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
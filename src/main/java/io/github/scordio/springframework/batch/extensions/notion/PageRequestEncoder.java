@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import com.google.gson.stream.JsonWriter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming encoder of the request body of a page creation.
+ * <p>
+ * The body is written token by token from the property values, without building the
+ * object model of the Notion SDK. Property names are matched case-insensitively against
+ * the database schema, and the values are encoded according to the property types,
+ * accepting the same types produced by {@link QueryResultsDecoder}:
+ * <ul>
+ * <li>{@code title}, {@code rich_text}: {@link String}, split into text objects of at
+ * most {@value #MAX_TEXT_LENGTH} characters</li>
+ * <li>{@code number}: {@link Number}</li>
+ * <li>{@code checkbox}: {@link Boolean}</li>
+ * <li>{@code select}, {@code status}: the option name as {@link String}</li>
+ * <li>{@code multi_select}: the option names as {@link Collection} of {@link String}</li>
+ * <li>{@code date}: the start as {@link LocalDate}, {@link OffsetDateTime}, or any other
+ * {@link Temporal} with an ISO 8601 representation</li>
+ * <li>{@code url}, {@code email}, {@code phone_number}: {@link String}</li>
+ * </ul>
+ * Values of other types are converted with the {@link DefaultConversionService}.
+ */
+final class PageRequestEncoder {
+
+	static final int MAX_TEXT_LENGTH = 2000;
+
+	private static final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+	private final Map<String, String> namesByName;
+
+	private final Map<String, String> typesByName;
+
+	/**
+	 * Create an encoder for the given database schema.
+	 * @param typesByName the property types, keyed by property name
+	 */
+	PageRequestEncoder(Map<String, String> typesByName) {
+		this.namesByName = new LinkedCaseInsensitiveMap<>(typesByName.size());
+		this.typesByName = typesByName;
+		typesByName.keySet().forEach(name -> namesByName.put(name, name));
+	}
+
+	/**
+	 * Encode the request body creating a page with the given properties.
+	 * @param databaseId the ID of the parent database
+	 * @param properties the property values, keyed by property name
+	 * @return the request body
+	 * @throws IllegalStateException if any of the properties is not found in the schema,
+	 * or its type is not supported
+	 */
+	String encode(String databaseId, Map<String, Object> properties) {
+		StringWriter body = new StringWriter();
+
+		try (JsonWriter writer = new JsonWriter(body)) {
+			writer.setSerializeNulls(true);
+			writer.beginObject();
+			writer.name("parent").beginObject().name("database_id").value(databaseId).endObject();
+			writer.name("properties").beginObject();
+
+			for (Map.Entry<String, Object> property : properties.entrySet()) {
+				String name = namesByName.get(property.getKey());
+				if (name == null) {
+					throw new IllegalStateException(
+							"Property not found in database " + databaseId + ": " + property.getKey());
+				}
+				writer.name(name).beginObject();
+				writeValue(writer, name, typesByName.get(name), property.getValue());
+				writer.endObject();
+			}
+
+			writer.endObject();
+			writer.endObject();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return body.toString();
+	}
+
+	private static void writeValue(JsonWriter writer, String name, String type, Object value) throws IOException {
+		switch (type != null ? type : "") {
+			case "title", "rich_text" -> writeText(writer.name(type), convert(value, String.class));
+			case "number" ->
+				writer.name(type).value(value instanceof Number number ? number : convert(value, Double.class));
+			case "checkbox" -> writer.name(type).value(Boolean.TRUE.equals(convert(value, Boolean.class)));
+			case "select", "status" -> writeOption(writer.name(type), convert(value, String.class));
+			case "multi_select" -> writeOptions(writer.name(type), value);
+			case "date" -> writeDate(writer.name(type), value);
+			case "url", "email", "phone_number" -> writer.name(type).value(convert(value, String.class));
+			default -> throw new IllegalStateException("Unsupported type of property '%s': %s".formatted(name, type));
+		}
+	}
+
+	private static void writeText(JsonWriter writer, String value) throws IOException {
+		writer.beginArray();
+		if (value != null) {
+			for (int start = 0; start < value.length(); start += MAX_TEXT_LENGTH) {
+				String content = value.substring(start, Math.min(start + MAX_TEXT_LENGTH, value.length()));
+				writer.beginObject().name("text").beginObject().name("content").value(content).endObject().endObject();
+			}
+		}
+		writer.endArray();
+	}
+
+	private static void writeOption(JsonWriter writer, String name) throws IOException {
+		if (name == null) {
+			writer.nullValue();
+		}
+		else {
+			writer.beginObject().name("name").value(name).endObject();
+		}
+	}
+
+	private static void writeOptions(JsonWriter writer, Object value) throws IOException {
+		Collection<?> names = value instanceof Collection<?> collection ? collection
+				: value != null ? List.of(value) : List.of();
+
+		writer.beginArray();
+		for (Object name : names) {
+			writeOption(writer, convert(name, String.class));
+		}
+		writer.endArray();
+	}
+
+	private static void writeDate(JsonWriter writer, Object value) throws IOException {
+		String start = value instanceof Temporal ? value.toString() : convert(value, String.class);
+
+		if (start == null) {
+			writer.nullValue();
+		}
+		else {
+			writer.beginObject().name("start").value(start).endObject();
+		}
+	}
+
+	private static <V> V convert(Object value, Class<V> type) {
+		return type.isInstance(value) ? type.cast(value) : conversionService.convert(value, type);
+	}
+
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streaming decoder of the response body of a database query.
+ * <p>
+ * The body is read token by token, keeping only the values of the page properties, the
+ * last edited time of each page, and the pagination fields, without building the object
+ * model of the Notion SDK.
+ * <p>
+ * Property values are decoded into the following types:
+ * <ul>
+ * <li>{@code title}, {@code rich_text}: the first plain text as {@link String}</li>
+ * <li>{@code number}: {@link Double}</li>
+ * <li>{@code checkbox}: {@link Boolean}</li>
+ * <li>{@code select}, {@code status}: the option name as {@link String}</li>
+ * <li>{@code multi_select}: the option names as {@link List} of {@link String}</li>
+ * <li>{@code date}: the start as {@link LocalDate}, or {@link OffsetDateTime} if it
+ * includes a time</li>
+ * <li>{@code url}, {@code email}, {@code phone_number}: {@link String}</li>
+ * <li>{@code unique_id}: the number, without prefix, as {@link Long}</li>
+ * <li>{@code formula}: the result, decoded as above according to its type</li>
+ * </ul>
+ */
+class QueryResultsDecoder {
+
+	private static final int DATE_LENGTH = "yyyy-MM-dd".length();
+
+	record DecodedResults(List<Map<String, Object>> items, List<String> lastEditedTimes, boolean hasMore,
+			String nextCursor) {
+	}
+
+	static DecodedResults decode(String body) {
+		return decode(body, null);
+	}
+
+	static DecodedResults decode(String body, DecodingPlan plan) {
+		try (JsonReader reader = new JsonReader(new StringReader(body))) {
+			List<Map<String, Object>> items = new ArrayList<>();
+			List<String> lastEditedTimes = new ArrayList<>();
+			boolean hasMore = false;
+			String nextCursor = null;
+
+			reader.beginObject();
+			while (reader.hasNext()) {
+				switch (reader.nextName()) {
+					case "results" -> readResults(reader, plan, items, lastEditedTimes);
+					case "has_more" -> hasMore = reader.nextBoolean();
+					case "next_cursor" -> nextCursor = nextStringOrNull(reader);
+					default -> reader.skipValue();
+				}
+			}
+			reader.endObject();
+
+			return new DecodedResults(items, lastEditedTimes, hasMore, nextCursor);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void readResults(JsonReader reader, DecodingPlan plan, List<Map<String, Object>> items,
+			List<String> lastEditedTimes) throws IOException {
+		reader.beginArray();
+		while (reader.hasNext()) {
+			readPage(reader, plan, items, lastEditedTimes);
+		}
+		reader.endArray();
+	}
+
+	private static void readPage(JsonReader reader, DecodingPlan plan, List<Map<String, Object>> items,
+			List<String> lastEditedTimes) throws IOException {
+		Map<String, Object> properties = Map.of();
+		String lastEditedTime = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "properties" -> properties = plan != null ? readProperties(reader, plan) : readProperties(reader);
+				case "last_edited_time" -> lastEditedTime = nextStringOrNull(reader);
+				default -> reader.skipValue();
+			}
+		}
+		reader.endObject();
+		items.add(properties);
+		lastEditedTimes.add(lastEditedTime);
+	}
+
+	private static Map<String, Object> readProperties(JsonReader reader) throws IOException {
+		Map<String, Object> properties = new LinkedHashMap<>();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			properties.put(name, readPropertyValue(reader));
+		}
+		reader.endObject();
+		return Collections.unmodifiableMap(properties);
+	}
+
+	private static Map<String, Object> readProperties(JsonReader reader, DecodingPlan plan) throws IOException {
+		Object[] values = new Object[plan.size()];
+		reader.beginObject();
+		while (reader.hasNext()) {
+			int slot = plan.slot(reader.nextName());
+			if (slot >= 0) {
+				values[slot] = readPropertyValue(reader, plan.decoder(slot));
+			}
+			else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return plan.item(values);
+	}
+
+	private static Object readPropertyValue(JsonReader reader) throws IOException {
+		String type = null;
+		Object value = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			ValueDecoder decoder = ValueDecoder.of(name);
+			if (name.equals("type")) {
+				type = reader.nextString();
+			}
+			else if (decoder != null) {
+				value = decoder.read(reader);
+			}
+			else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		ValueDecoder decoder = type != null ? ValueDecoder.of(type) : null;
+		if (decoder == null) {
+			throw new IllegalArgumentException("Unsupported type: " + type);
+		}
+		return value != null ? value : decoder.emptyValue;
+	}
+
+	private static Object readPropertyValue(JsonReader reader, ValueDecoder decoder) throws IOException {
+		Object value = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (reader.nextName().equals(decoder.type)) {
+				value = decoder.read(reader);
+			}
+			else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return value != null ? value : decoder.emptyValue;
+	}
+
+	private static String readOptionName(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		String optionName = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (reader.nextName().equals("name")) {
+				optionName = nextStringOrNull(reader);
+			}
+			else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return optionName;
+	}
+
+	private static List<String> readOptionNames(JsonReader reader) throws IOException {
+		List<String> optionNames = new ArrayList<>();
+		reader.beginArray();
+		while (reader.hasNext()) {
+			optionNames.add(readOptionName(reader));
+		}
+		reader.endArray();
+		return Collections.unmodifiableList(optionNames);
+	}
+
+	private static Temporal readDateStart(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		String start = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (reader.nextName().equals("start")) {
+				start = nextStringOrNull(reader);
+			}
+			else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		if (start == null) {
+			return null;
+		}
+		return start.length() == DATE_LENGTH ? LocalDate.parse(start) : OffsetDateTime.parse(start);
+	}
+
+	private static Long readUniqueIdNumber(JsonReader reader) throws IOException {
+		Long number = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (reader.nextName().equals("number") && reader.peek() != JsonToken.NULL) {
+				number = reader.nextLong();
+			}
+			else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return number;
+	}
+
+	private static Object readFormulaValue(JsonReader reader) throws IOException {
+		Object value = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "string" -> value = nextStringOrNull(reader);
+				case "number" -> value = nextDoubleOrNull(reader);
+				case "boolean" -> value = nextBooleanOrNull(reader);
+				case "date" -> value = readDateStart(reader);
+				default -> reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return value;
+	}
+
+	private static String readPlainText(JsonReader reader) throws IOException {
+		String plainText = "";
+		boolean first = true;
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (first) {
+				plainText = readFirstPlainText(reader);
+				first = false;
+			}
+			else {
+				reader.skipValue();
+			}
+		}
+		reader.endArray();
+		return plainText;
+	}
+
+	private static String readFirstPlainText(JsonReader reader) throws IOException {
+		String plainText = "";
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (reader.nextName().equals("plain_text")) {
+				plainText = nextStringOrNull(reader);
+			}
+			else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return plainText;
+	}
+
+	private static Double nextDoubleOrNull(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		return reader.nextDouble();
+	}
+
+	private static Boolean nextBooleanOrNull(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		return reader.nextBoolean();
+	}
+
+	private static String nextStringOrNull(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		return reader.nextString();
+	}
+
+	/**
+	 * Decoders of the supported property types, reading the value of the property object
+	 * field named after the type.
+	 */
+	enum ValueDecoder {
+
+		CHECKBOX("checkbox", JsonReader::nextBoolean),
+
+		DATE("date", QueryResultsDecoder::readDateStart),
+
+		EMAIL("email", QueryResultsDecoder::nextStringOrNull),
+
+		FORMULA("formula", QueryResultsDecoder::readFormulaValue),
+
+		MULTI_SELECT("multi_select", QueryResultsDecoder::readOptionNames),
+
+		NUMBER("number", QueryResultsDecoder::nextDoubleOrNull),
+
+		PHONE_NUMBER("phone_number", QueryResultsDecoder::nextStringOrNull),
+
+		RICH_TEXT("rich_text", QueryResultsDecoder::readPlainText, ""),
+
+		SELECT("select", QueryResultsDecoder::readOptionName),
+
+		STATUS("status", QueryResultsDecoder::readOptionName),
+
+		TITLE("title", QueryResultsDecoder::readPlainText, ""),
+
+		UNIQUE_ID("unique_id", QueryResultsDecoder::readUniqueIdNumber),
+
+		URL("url", QueryResultsDecoder::nextStringOrNull);
+
+		private static final Map<String, ValueDecoder> decodersByType = Stream.of(values())
+			.collect(Collectors.toUnmodifiableMap(decoder -> decoder.type, Function.identity()));
+
+		private final String type;
+
+		private final ValueReader reader;
+
+		private final Object emptyValue;
+
+		ValueDecoder(String type, ValueReader reader) {
+			this(type, reader, null);
+		}
+
+		ValueDecoder(String type, ValueReader reader, Object emptyValue) {
+			this.type = type;
+			this.reader = reader;
+			this.emptyValue = emptyValue;
+		}
+
+		static ValueDecoder of(String type) {
+			return decodersByType.get(type);
+		}
+
+		Object read(JsonReader reader) throws IOException {
+			return this.reader.read(reader);
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface ValueReader {
+
+		Object read(JsonReader reader) throws IOException;
+
+	}
+
+}
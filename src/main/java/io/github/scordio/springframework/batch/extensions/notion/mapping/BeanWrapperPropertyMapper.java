@@ -15,18 +15,38 @@
  */
 package io.github.scordio.springframework.batch.extensions.notion.mapping;
 
+import org.springframework.beans.BeanInstantiationException;
 import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.PropertyAccessorFactory;
-import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.beans.MethodInvocationException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
 
 /**
  * {@link PropertyMapper} implementation for JavaBeans.
  * <p>
  * It requires a default constructor and expects the setter names to match the Notion item
- * property names (case-insensitive).
+ * property names (case-insensitive). Values are converted to the setter parameter type if
+ * needed.
+ * <p>
+ * Properties without a matching setter are ignored, like with the other
+ * {@link PropertyMapper} implementations. Before 0.1.0, they made the mapping fail with a
+ * {@link org.springframework.beans.NotWritablePropertyException}, as it was delegated to
+ * a {@link org.springframework.beans.BeanWrapper}.
+ * <p>
+ * The constructor and the setters are resolved once, when the mapper is created, and
+ * invoked via {@link MethodHandle method handles} for each item.
  *
  * @param <T> the target type
  */
@@ -34,12 +54,34 @@ public class BeanWrapperPropertyMapper<T> extends CaseInsensitivePropertyMapper<
 
 	private final Constructor<T> constructor;
 
+	private final MethodHandle constructorHandle;
+
+	private final PropertySetter[] setters;
+
+	private final String[] propertyNames;
+
 	/**
 	 * Create a new {@link BeanWrapperPropertyMapper} for the given target type.
 	 * @param type type of the target object
 	 */
 	public BeanWrapperPropertyMapper(Class<T> type) {
 		this.constructor = BeanUtils.getResolvableConstructor(type);
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+		try {
+			ReflectionUtils.makeAccessible(constructor);
+			this.constructorHandle = lookup.unreflectConstructor(constructor)
+				.asType(MethodType.methodType(Object.class));
+
+			this.setters = Arrays.stream(BeanUtils.getPropertyDescriptors(type))
+				.filter(descriptor -> descriptor.getWriteMethod() != null)
+				.map(descriptor -> PropertySetter.of(lookup, descriptor))
+				.toArray(PropertySetter[]::new);
+			this.propertyNames = Arrays.stream(setters).map(PropertySetter::name).toArray(String[]::new);
+		}
+		catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(e);
+		}
 	}
 
 	/**
@@ -52,11 +94,63 @@ public class BeanWrapperPropertyMapper<T> extends CaseInsensitivePropertyMapper<
 	}
 
 	@Override
-	T mapCaseInsensitive(LinkedCaseInsensitiveMap<String> properties) {
-		T instance = BeanUtils.instantiateClass(constructor);
-		BeanWrapper beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(instance);
-		beanWrapper.setPropertyValues(properties);
+	@SuppressWarnings("unchecked")
+	T map(Map<String, Object> properties, String[] keys) {
+		T instance;
+		try {
+			instance = (T) constructorHandle.invokeExact();
+		}
+		catch (Throwable e) {
+			throw new BeanInstantiationException(constructor, e.getMessage(), e);
+		}
+
+		for (int i = 0; i < setters.length; i++) {
+			if (keys[i] != null) {
+				setters[i].set(instance, properties.get(keys[i]));
+			}
+		}
+
 		return instance;
 	}
 
+	@Override
+	String[] getPropertyNameArray() {
+		return propertyNames;
+	}
+
+	private record PropertySetter(String name, Class<?> type, MethodHandle handle) {
+
+		private static final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+		static PropertySetter of(MethodHandles.Lookup lookup, PropertyDescriptor descriptor) {
+			Method writeMethod = descriptor.getWriteMethod();
+			try {
+				ReflectionUtils.makeAccessible(writeMethod);
+				MethodHandle handle = lookup.unreflect(writeMethod)
+					.asType(MethodType.methodType(void.class, Object.class, Object.class));
+				return new PropertySetter(descriptor.getName(), descriptor.getPropertyType(), handle);
+			}
+			catch (IllegalAccessException e) {
+				throw new IllegalArgumentException(e);
+			}
+		}
+
+		void set(Object instance, Object value) {
+			Object convertedValue = ClassUtils.resolvePrimitiveIfNecessary(type).isInstance(value) ? value
+					: conversionService.convert(value, type);
+
+			if (convertedValue == null && type.isPrimitive()) {
+				return;
+			}
+
+			try {
+				handle.invokeExact(instance, convertedValue);
+			}
+			catch (Throwable e) {
+				throw new MethodInvocationException(new PropertyChangeEvent(instance, name, null, value), e);
+			}
+		}
+
+	}
+
 }
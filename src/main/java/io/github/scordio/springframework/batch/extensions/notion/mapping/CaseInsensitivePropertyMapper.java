@@ -18,16 +18,70 @@ package io.github.scordio.springframework.batch.extensions.notion.mapping;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Base class for {@link PropertyMapper} implementations matching a fixed set of property
+ * names case-insensitively.
+ * <p>
+ * The property names are resolved to the actual keys of the item properties once per
+ * distinct key set and the result is cached, so items sharing the same keys, like those
+ * of the same database query, are mapped with plain lookups.
+ *
+ * @param <T> the target type
+ */
 abstract class CaseInsensitivePropertyMapper<T> implements PropertyMapper<T> {
 
+	private volatile KeyTable keyTable;
+
+	@Override
+	public T map(Map<String, Object> properties) {
+		return map(properties, getKeyTable(properties.keySet()).keys());
+	}
+
+	/**
+	 * Map the given item properties into an object of type {@code T}.
+	 * @param properties the item properties
+	 * @param keys the keys of the item properties matching the
+	 * {@link #getPropertyNameArray() property names}, in the same order, or {@code null}
+	 * for the names without a matching key
+	 * @return the populated object
+	 */
+	abstract T map(Map<String, Object> properties, String[] keys);
+
+	/**
+	 * Return the names of the properties used by this mapper, in a stable order.
+	 * @return the property names
+	 */
+	abstract String[] getPropertyNameArray();
+
 	@Override
-	public T map(Map<String, String> properties) {
-		LinkedCaseInsensitiveMap<String> caseInsensitiveProperties = new LinkedCaseInsensitiveMap<>(properties.size());
-		caseInsensitiveProperties.putAll(properties);
-		return mapCaseInsensitive(caseInsensitiveProperties);
+	public Set<String> getPropertyNames() {
+		return Set.of(getPropertyNameArray());
+	}
+
+	private KeyTable getKeyTable(Set<String> itemKeys) {
+		KeyTable table = keyTable;
+		if (table == null || (table.itemKeys() != itemKeys && !table.itemKeys().equals(itemKeys))) {
+			table = KeyTable.of(getPropertyNameArray(), itemKeys);
+			keyTable = table;
+		}
+		return table;
 	}
 
-	abstract T mapCaseInsensitive(LinkedCaseInsensitiveMap<String> properties);
+	private record KeyTable(Set<String> itemKeys, String[] keys) {
+
+		static KeyTable of(String[] names, Set<String> itemKeys) {
+			LinkedCaseInsensitiveMap<String> keysByName = new LinkedCaseInsensitiveMap<>(itemKeys.size());
+			itemKeys.forEach(key -> keysByName.put(key, key));
+
+			String[] keys = new String[names.length];
+			for (int i = 0; i < names.length; i++) {
+				keys[i] = keysByName.get(names[i]);
+			}
+			return new KeyTable(itemKeys, keys);
+		}
+
+	}
 
 }
@@ -15,17 +15,35 @@
  */
 package io.github.scordio.springframework.batch.extensions.notion.mapping;
 
-import org.springframework.beans.BeanUtils;
-import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
+import java.util.Map;
 
 abstract class ConstructorBasedPropertyMapper<T> extends CaseInsensitivePropertyMapper<T> {
 
+	private static final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
 	private final Constructor<T> constructor;
 
+	private final String[] parameterNames;
+
+	private final Class<?>[] parameterTypes;
+
+	private final Object[] defaultValues;
+
+	private final MethodHandle constructorHandle;
+
 	ConstructorBasedPropertyMapper(Class<T> type) {
 		try {
 			this.constructor = getConstructor(type);
@@ -33,19 +51,61 @@ abstract class ConstructorBasedPropertyMapper<T> extends CaseInsensitiveProperty
 		catch (NoSuchMethodException e) {
 			throw new IllegalArgumentException(e);
 		}
+
+		Parameter[] parameters = constructor.getParameters();
+		this.parameterNames = Arrays.stream(parameters).map(Parameter::getName).toArray(String[]::new);
+		this.parameterTypes = Arrays.stream(parameters).map(Parameter::getType).toArray(Class<?>[]::new);
+		this.defaultValues = Arrays.stream(parameters)
+			.map(Parameter::getType)
+			.map(ConstructorBasedPropertyMapper::defaultValue)
+			.toArray();
+
+		try {
+			ReflectionUtils.makeAccessible(constructor);
+			this.constructorHandle = MethodHandles.lookup()
+				.unreflectConstructor(constructor)
+				.asSpreader(Object[].class, parameters.length)
+				.asType(MethodType.methodType(Object.class, Object[].class));
+		}
+		catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(e);
+		}
 	}
 
 	abstract Constructor<T> getConstructor(Class<T> type) throws NoSuchMethodException;
 
 	@Override
-	T mapCaseInsensitive(LinkedCaseInsensitiveMap<String> properties) {
-		Object[] parameterValues = Arrays.stream(constructor.getParameters()) //
-			.map(Parameter::getName) //
-			.map(properties::get) //
-			.toArray();
+	@SuppressWarnings("unchecked")
+	T map(Map<String, Object> properties, String[] keys) {
+		Object[] parameterValues = new Object[parameterNames.length];
 
-		return BeanUtils.instantiateClass(constructor, parameterValues);
+		for (int i = 0; i < parameterNames.length; i++) {
+			Object value = keys[i] != null ? convert(properties.get(keys[i]), parameterTypes[i]) : null;
+			parameterValues[i] = value != null ? value : defaultValues[i];
+		}
+
+		try {
+			return (T) constructorHandle.invokeExact(parameterValues);
+		}
+		catch (Throwable e) {
+			throw new BeanInstantiationException(constructor, e.getMessage(), e);
+		}
+	}
+
+	@Override
+	String[] getPropertyNameArray() {
+		return parameterNames;
+	}
+
+	private static Object convert(Object value, Class<?> type) {
+		if (value == null || ClassUtils.resolvePrimitiveIfNecessary(type).isInstance(value)) {
+			return value;
+		}
+		return conversionService.convert(value, type);
+	}
 
+	private static Object defaultValue(Class<?> type) {
+		return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
 	}
 
 }
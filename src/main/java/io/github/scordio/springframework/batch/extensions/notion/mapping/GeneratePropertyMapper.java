@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that a {@link PropertyMapper} implementation should be generated at compile
+ * time for the annotated type.
+ * <p>
+ * The generated mapper is a public class in the same package as the annotated type, named
+ * after the simple names of the annotated type and its enclosing types, joined by
+ * {@code _}, followed by {@code PropertyMapper}. For example, the mapper of a
+ * {@code Item} record nested in a {@code Job} class is named
+ * {@code Job_ItemPropertyMapper}.
+ * <p>
+ * Like {@link RecordPropertyMapper} and {@link BeanWrapperPropertyMapper}, the generated
+ * mapper matches the property names case-insensitively, but it does so without reflection
+ * and without copying the properties. Supported types are:
+ * <ul>
+ * <li>records, whose canonical constructor is used for mapping</li>
+ * <li>classes with a no-argument constructor, whose setters are used for mapping</li>
+ * </ul>
+ * Overloaded setters are disambiguated by the type returned by the corresponding getter,
+ * like the JavaBeans introspection does, and properties declared with a type variable are
+ * mapped to its erasure. Values that are not instances of the target type are converted
+ * like the reflective mappers do, i.e., numeric values are converted to the primitive or
+ * boxed numeric type of the target, and any other value via the shared
+ * {@link org.springframework.core.convert.support.DefaultConversionService}. Primitive
+ * targets receive their default value, or keep their current value for setters, when the
+ * converted value is {@code null}. The annotated type and its enclosing types must not be
+ * private.
+ * <p>
+ * The generation is performed by {@link PropertyMapperProcessor}, which is not registered
+ * for automatic discovery and must be configured explicitly, e.g., via the
+ * {@code -processor} compiler option.
+ *
+ * @see PropertyMapperProcessor
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GeneratePropertyMapper {
+
+}
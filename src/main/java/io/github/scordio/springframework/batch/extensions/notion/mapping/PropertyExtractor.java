@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.mapping;
+
+import java.util.Map;
+
+/**
+ * Strategy interface for extracting the properties of a Notion item from a Java object,
+ * i.e., the reverse of a {@link PropertyMapper}.
+ *
+ * @param <T> the object type
+ */
+@FunctionalInterface
+public interface PropertyExtractor<T> {
+
+	/**
+	 * Extract the item properties from the given object.
+	 * <p>
+	 * The values are expected to be of the same types produced when reading the item,
+	 * e.g., {@link String} for {@code title} and {@code rich_text} properties or
+	 * {@link Number} for {@code number} properties. Property names are matched
+	 * case-insensitively.
+	 * @param item the object to extract the properties from
+	 * @return map containing the property value objects, keyed by property name
+	 */
+	Map<String, Object> extract(T item);
+
+}
@@ -15,10 +15,21 @@
  */
 package io.github.scordio.springframework.batch.extensions.notion.mapping;
 
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Strategy interface for mapping the properties of a Notion item into a Java object.
+ * <p>
+ * The property values are decoded according to their Notion type, e.g., a {@code number}
+ * property is passed as {@link Double} and a {@code checkbox} property as
+ * {@link Boolean}, while {@code title} and {@code rich_text} properties are still passed
+ * as {@link String}.
  *
  * @param <T> the object type
  */
@@ -27,10 +38,46 @@ public interface PropertyMapper<T> {
 
 	/**
 	 * Map the given item properties into an object of type {@code T}.
+	 * <p>
+	 * Before 0.1.0, the parameter type was {@code Map<String, String>}. Mappers written
+	 * against it can be adapted via {@link #ofStrings(Function)}.
 	 * @param properties unmodifiable map containing the property value objects, keyed by
 	 * property name
 	 * @return the populated object
 	 */
-	T map(Map<String, String> properties);
+	T map(Map<String, Object> properties);
+
+	/**
+	 * Return the names of the properties used by this mapper, if known in advance.
+	 * <p>
+	 * The names can be used to limit the properties returned by the Notion API. An empty
+	 * set, which is the default, means that the used properties are unknown and all of
+	 * them should be returned.
+	 * @return the names of the used properties, or an empty set if unknown
+	 */
+	default Set<String> getPropertyNames() {
+		return Set.of();
+	}
+
+	/**
+	 * Adapt a mapping function expecting {@code String} property values, as accepted by
+	 * {@link #map(Map)} before 0.1.0.
+	 * <p>
+	 * Each value is converted to {@code String} via the shared
+	 * {@link DefaultConversionService}. The {@code title} and {@code rich_text} values
+	 * are passed unchanged, while the other types are passed in their string
+	 * representation, e.g., {@code "42.0"} for a {@code number} property.
+	 * @param mapper the mapping function
+	 * @param <T> the object type
+	 * @return a property mapper delegating to the given function
+	 */
+	static <T> PropertyMapper<T> ofStrings(Function<Map<String, String>, T> mapper) {
+		return properties -> {
+			Map<String, String> values = new LinkedHashMap<>();
+			properties.forEach((name, value) -> values.put(name,
+					DefaultConversionService.getSharedInstance().convert(value, String.class)));
+			return mapper.apply(Collections.unmodifiableMap(values));
+		};
+	}
 
 }
@@ -0,0 +1,361 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.mapping;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link Processor} generating {@link PropertyMapper} implementations for the types
+ * annotated with {@link GeneratePropertyMapper}.
+ * <p>
+ * The processor is deliberately not registered as a service, so that it does not run in
+ * every build having this library on the compile classpath. It must be enabled
+ * explicitly, e.g., via the {@code -processor} compiler option.
+ *
+ * @see GeneratePropertyMapper
+ */
+@SupportedAnnotationTypes("io.github.scordio.springframework.batch.extensions.notion.mapping.GeneratePropertyMapper")
+public class PropertyMapperProcessor extends AbstractProcessor {
+
+	private static final String SUFFIX = "PropertyMapper";
+
+	private static final Map<String, String> NUMBER_TYPES = Map.of("java.lang.Byte", "byte", "java.lang.Short", "short",
+			"java.lang.Integer", "int", "java.lang.Long", "long", "java.lang.Float", "float", "java.lang.Double",
+			"double");
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(GeneratePropertyMapper.class)) {
+			if (isAccessible(element)) {
+				process((TypeElement) element);
+			}
+		}
+		return true;
+	}
+
+	private boolean isAccessible(Element element) {
+		for (Element current = element; current instanceof TypeElement; current = current.getEnclosingElement()) {
+			if (current.getModifiers().contains(Modifier.PRIVATE)) {
+				error(element, "Type must not be private and must not be enclosed in a private type");
+				return false;
+			}
+		}
+		if (element.getEnclosingElement() instanceof TypeElement && element.getKind() == ElementKind.CLASS
+				&& !element.getModifiers().contains(Modifier.STATIC)) {
+			error(element, "Nested classes must be static");
+			return false;
+		}
+		return true;
+	}
+
+	private void process(TypeElement type) {
+		List<Property> properties = new ArrayList<>();
+
+		if (type.getKind() == ElementKind.RECORD) {
+			for (RecordComponentElement component : type.getRecordComponents()) {
+				if (!isSupported(component.asType())) {
+					error(component, "Unsupported record component type: " + component.asType());
+					return;
+				}
+				properties.add(new Property(component.getSimpleName().toString(), component.asType(), null));
+			}
+		}
+		else if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+			if (!hasNoArgConstructor(type)) {
+				error(type, "Class must have a non-private no-argument constructor");
+				return;
+			}
+			List<ExecutableElement> methods = ElementFilter
+				.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+			Map<String, List<ExecutableElement>> settersBySuffix = new LinkedHashMap<>();
+			for (ExecutableElement method : methods) {
+				if (isSetter(method)) {
+					settersBySuffix
+						.computeIfAbsent(method.getSimpleName().toString().substring(3), k -> new ArrayList<>())
+						.add(method);
+				}
+			}
+			for (Map.Entry<String, List<ExecutableElement>> entry : settersBySuffix.entrySet()) {
+				String name = Introspector.decapitalize(entry.getKey());
+				ExecutableElement setter = selectSetter(entry.getKey(), entry.getValue(), methods);
+				if (setter == null) {
+					error(entry.getValue().get(1), "Overloaded setters for property '" + name
+							+ "' must be disambiguated by a getter returning the type of one of them");
+					return;
+				}
+				TypeMirror propertyType = setter.getParameters().get(0).asType();
+				if (!isSupported(propertyType)) {
+					error(setter, "Unsupported setter parameter type: " + propertyType);
+					return;
+				}
+				properties.add(new Property(name, propertyType, setter.getSimpleName().toString()));
+			}
+		}
+		else {
+			error(type, "Type must be a record or a concrete class");
+			return;
+		}
+
+		Set<String> lowerCaseNames = new HashSet<>();
+		for (Property property : properties) {
+			if (!lowerCaseNames.add(property.name().toLowerCase(Locale.ROOT))) {
+				error(type, "Property names must be unique ignoring case: " + property.name());
+				return;
+			}
+		}
+
+		write(type, properties);
+	}
+
+	private void write(TypeElement type, List<Property> properties) {
+		PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+		String packageName = packageElement.getQualifiedName().toString();
+		String mapperName = getMapperName(type);
+		String typeName = type.getQualifiedName().toString();
+		boolean bean = type.getKind() != ElementKind.RECORD;
+
+		try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+			.createSourceFile(packageName.isEmpty() ? mapperName : packageName + "." + mapperName, type)
+			.openWriter())) {
+
+			if (!packageName.isEmpty()) {
+				out.println("package " + packageName + ";");
+				out.println();
+			}
+			out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+			out.println("public final class " + mapperName + " implements " + PropertyMapper.class.getName() + "<"
+					+ typeName + "> {");
+			out.println();
+			out.println("  private static final java.util.Set<String> PROPERTY_NAMES = java.util.Set.of("
+					+ properties.stream()
+						.map(property -> "\"" + property.name() + "\"")
+						.collect(Collectors.joining(", "))
+					+ ");");
+			out.println();
+			out.println("  private static final " + ConversionService.class.getName() + " CONVERSION_SERVICE = "
+					+ DefaultConversionService.class.getName() + ".getSharedInstance();");
+			out.println();
+			out.println("  @Override");
+			out.println("  @SuppressWarnings({ \"unchecked\", \"rawtypes\" })");
+			out.println("  public " + typeName + " map(java.util.Map<String, Object> properties) {");
+			for (int i = 0; i < properties.size(); i++) {
+				out.println("    Object value" + i + " = null;");
+				if (bean) {
+					out.println("    boolean present" + i + " = false;");
+				}
+			}
+			out.println("    for (java.util.Map.Entry<String, Object> entry : properties.entrySet()) {");
+			out.println("      String key = entry.getKey();");
+			out.println("      switch (key) {");
+			for (int i = 0; i < properties.size(); i++) {
+				String name = properties.get(i).name();
+				Set<String> labels = new LinkedHashSet<>(List.of(name, capitalize(name)));
+				printCase(out, "        ", labels, i, bean);
+			}
+			out.println("        default -> {");
+			out.println("          switch (key.toLowerCase(java.util.Locale.ROOT)) {");
+			for (int i = 0; i < properties.size(); i++) {
+				printCase(out, "            ", Set.of(properties.get(i).name().toLowerCase(Locale.ROOT)), i, bean);
+			}
+			out.println("            default -> {");
+			out.println("            }");
+			out.println("          }");
+			out.println("        }");
+			out.println("      }");
+			out.println("    }");
+			for (int i = 0; i < properties.size(); i++) {
+				TypeMirror propertyType = properties.get(i).type();
+				out.println("    " + getBoxedTypeName(propertyType) + " converted" + i + " = "
+						+ convert(propertyType, i) + ";");
+			}
+			if (bean) {
+				out.println("    " + typeName + " instance = new " + typeName + "();");
+				for (int i = 0; i < properties.size(); i++) {
+					Property property = properties.get(i);
+					boolean primitive = property.type().getKind().isPrimitive();
+					out.println("    if (present" + i + (primitive ? " && converted" + i + " != null" : "") + ") {");
+					out.println("      instance." + property.setter() + "(converted" + i + ");");
+					out.println("    }");
+				}
+				out.println("    return instance;");
+			}
+			else {
+				List<String> arguments = new ArrayList<>();
+				for (int i = 0; i < properties.size(); i++) {
+					TypeKind kind = properties.get(i).type().getKind();
+					if (kind.isPrimitive()) {
+						String defaultValue = kind == TypeKind.BOOLEAN ? "false" : "0";
+						arguments.add("converted" + i + " != null ? converted" + i + " : " + defaultValue);
+					}
+					else {
+						arguments.add("converted" + i);
+					}
+				}
+				out.println("    return new " + typeName + "(" + String.join(", ", arguments) + ");");
+			}
+			out.println("  }");
+			out.println();
+			out.println("  @Override");
+			out.println("  public java.util.Set<String> getPropertyNames() {");
+			out.println("    return PROPERTY_NAMES;");
+			out.println("  }");
+			out.println();
+			out.println("}");
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void printCase(PrintWriter out, String indent, Set<String> labels, int index, boolean bean) {
+		out.println(indent + "case "
+				+ labels.stream().map(label -> "\"" + label + "\"").collect(Collectors.joining(", ")) + " -> {");
+		out.println(indent + "  value" + index + " = entry.getValue();");
+		if (bean) {
+			out.println(indent + "  present" + index + " = true;");
+		}
+		out.println(indent + "}");
+	}
+
+	private static String capitalize(String name) {
+		return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private String convert(TypeMirror type, int index) {
+		String value = "value" + index;
+		String typeName = getBoxedTypeName(type);
+		String conversion = "CONVERSION_SERVICE.convert(" + value + ", " + typeName + ".class)";
+		String primitiveName = NUMBER_TYPES.get(typeName);
+		if (primitiveName != null) {
+			String number = "number" + index;
+			return value + " instanceof Number " + number + " ? " + typeName + ".valueOf(" + number + "."
+					+ primitiveName + "Value()) : " + conversion;
+		}
+		return value + " instanceof " + typeName + " ? (" + typeName + ") " + value + " : " + conversion;
+	}
+
+	private String getBoxedTypeName(TypeMirror type) {
+		return type.getKind().isPrimitive()
+				? processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString()
+				: getTypeName(type);
+	}
+
+	private String getTypeName(TypeMirror type) {
+		return switch (type.getKind()) {
+			case DECLARED -> ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+			case ARRAY -> getTypeName(((ArrayType) type).getComponentType()) + "[]";
+			case TYPEVAR -> getTypeName(processingEnv.getTypeUtils().erasure(type));
+			default -> type.getKind().name().toLowerCase(Locale.ROOT);
+		};
+	}
+
+	private boolean isSupported(TypeMirror type) {
+		return switch (type.getKind()) {
+			case BOOLEAN, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, DECLARED, TYPEVAR -> true;
+			case ARRAY -> isSupported(((ArrayType) type).getComponentType());
+			default -> false;
+		};
+	}
+
+	private static String getMapperName(TypeElement type) {
+		List<String> names = new ArrayList<>();
+		for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+			names.add(0, current.getSimpleName().toString());
+		}
+		return String.join("_", names) + SUFFIX;
+	}
+
+	private boolean hasNoArgConstructor(TypeElement type) {
+		return ElementFilter.constructorsIn(type.getEnclosedElements())
+			.stream()
+			.anyMatch(constructor -> constructor.getParameters().isEmpty()
+					&& !constructor.getModifiers().contains(Modifier.PRIVATE));
+	}
+
+	private boolean isSetter(ExecutableElement method) {
+		String name = method.getSimpleName().toString();
+		return name.startsWith("set") && name.length() > 3 && method.getParameters().size() == 1
+				&& !method.getModifiers().contains(Modifier.STATIC)
+				&& !method.getModifiers().contains(Modifier.PRIVATE);
+	}
+
+	private ExecutableElement selectSetter(String suffix, List<ExecutableElement> setters,
+			List<ExecutableElement> methods) {
+		if (setters.size() == 1) {
+			return setters.get(0);
+		}
+		for (ExecutableElement method : methods) {
+			String name = method.getSimpleName().toString();
+			if ((name.equals("get" + suffix) || name.equals("is" + suffix)) && method.getParameters().isEmpty()
+					&& !method.getModifiers().contains(Modifier.STATIC)) {
+				for (ExecutableElement setter : setters) {
+					if (processingEnv.getTypeUtils()
+						.isSameType(setter.getParameters().get(0).asType(), method.getReturnType())) {
+						return setter;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private record Property(String name, TypeMirror type, String setter) {
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+	}
+
+}
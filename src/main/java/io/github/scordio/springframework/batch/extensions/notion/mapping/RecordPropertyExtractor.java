@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.mapping;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link PropertyExtractor} implementation for {@link Record Java records}.
+ * <p>
+ * It uses the record's component names as Notion item property names, matched
+ * case-insensitively, and the component values as property values.
+ * <p>
+ * The accessors are resolved once, when the extractor is created, and invoked via
+ * {@link MethodHandle method handles} for each item.
+ *
+ * @param <T> the source type &mdash; must be a {@link Record}
+ */
+public class RecordPropertyExtractor<T extends Record> implements PropertyExtractor<T> {
+
+	private final String[] names;
+
+	private final MethodHandle[] accessors;
+
+	/**
+	 * Create a new {@link RecordPropertyExtractor} for the given source type.
+	 * @param type type of the source record
+	 */
+	public RecordPropertyExtractor(Class<T> type) {
+		RecordComponent[] components = type.getRecordComponents();
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+		this.names = new String[components.length];
+		this.accessors = new MethodHandle[components.length];
+
+		try {
+			for (int i = 0; i < components.length; i++) {
+				Method accessor = components[i].getAccessor();
+				ReflectionUtils.makeAccessible(accessor);
+				names[i] = components[i].getName();
+				accessors[i] = lookup.unreflect(accessor).asType(MethodType.methodType(Object.class, Object.class));
+			}
+		}
+		catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/**
+	 * Create a new {@link RecordPropertyExtractor}, inferring the source type.
+	 * @param reified don't pass any values to it. It's a trick to detect the source type.
+	 */
+	@SafeVarargs
+	public RecordPropertyExtractor(T... reified) {
+		this(ClassResolver.getClassOf(reified));
+	}
+
+	@Override
+	public Map<String, Object> extract(T item) {
+		Map<String, Object> properties = new LinkedHashMap<>(names.length * 2);
+		for (int i = 0; i < names.length; i++) {
+			try {
+				properties.put(names[i], accessors[i].invokeExact((Object) item));
+			}
+			catch (Throwable e) {
+				throw new IllegalStateException("Failed to read record component: " + names[i], e);
+			}
+		}
+		return properties;
+	}
+
+}
@@ -22,15 +22,19 @@ import notion.api.v1.model.databases.query.filter.condition.CheckboxFilter;
 import notion.api.v1.model.databases.query.filter.condition.MultiSelectFilter;
 import notion.api.v1.model.databases.query.filter.condition.NumberFilter;
 import notion.api.v1.model.databases.query.filter.condition.SelectFilter;
+import notion.api.v1.model.databases.query.filter.condition.TimestampFilter;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static io.github.scordio.springframework.batch.extensions.notion.Filter.where;
+import static io.github.scordio.springframework.batch.extensions.notion.Sort.Timestamp.CREATED_TIME;
+import static io.github.scordio.springframework.batch.extensions.notion.Sort.Timestamp.LAST_EDITED_TIME;
 import static java.util.function.Function.identity;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -51,7 +55,8 @@ class FilterTests {
 				checkboxFilters(), //
 				multiSelectFilters(), //
 				numberFilters(), //
-				selectFilters()) //
+				selectFilters(), //
+				timestampFilters()) //
 			.flatMap(identity());
 	}
 
@@ -234,6 +239,61 @@ class FilterTests {
 						})));
 	}
 
+	static Stream<Arguments> timestampFilters() {
+		Instant value = Instant.parse("2024-01-01T00:00:00Z");
+		return Stream.of( //
+				arguments( //
+						where().timestamp(CREATED_TIME).isEqualTo(value), //
+						supply(() -> {
+							TimestampFilter timestampFilter = new TimestampFilter();
+							timestampFilter.setEquals("2024-01-01T00:00:00Z");
+							PropertyFilter propertyFilter = new PropertyFilter();
+							propertyFilter.setTimestamp("created_time");
+							propertyFilter.setCreatedTime(timestampFilter);
+							return propertyFilter;
+						})),
+				arguments( //
+						where().timestamp(CREATED_TIME).isAfter(value), //
+						supply(() -> {
+							TimestampFilter timestampFilter = new TimestampFilter();
+							timestampFilter.setAfter("2024-01-01T00:00:00Z");
+							PropertyFilter propertyFilter = new PropertyFilter();
+							propertyFilter.setTimestamp("created_time");
+							propertyFilter.setCreatedTime(timestampFilter);
+							return propertyFilter;
+						})),
+				arguments( //
+						where().timestamp(CREATED_TIME).isOnOrAfter(value), //
+						supply(() -> {
+							TimestampFilter timestampFilter = new TimestampFilter();
+							timestampFilter.setOnOrAfter("2024-01-01T00:00:00Z");
+							PropertyFilter propertyFilter = new PropertyFilter();
+							propertyFilter.setTimestamp("created_time");
+							propertyFilter.setCreatedTime(timestampFilter);
+							return propertyFilter;
+						})),
+				arguments( //
+						where().timestamp(LAST_EDITED_TIME).isBefore(value), //
+						supply(() -> {
+							TimestampFilter timestampFilter = new TimestampFilter();
+							timestampFilter.setBefore("2024-01-01T00:00:00Z");
+							PropertyFilter propertyFilter = new PropertyFilter();
+							propertyFilter.setTimestamp("last_edited_time");
+							propertyFilter.setLastEditedTime(timestampFilter);
+							return propertyFilter;
+						})),
+				arguments( //
+						where().timestamp(LAST_EDITED_TIME).isOnOrBefore(value), //
+						supply(() -> {
+							TimestampFilter timestampFilter = new TimestampFilter();
+							timestampFilter.setOnOrBefore("2024-01-01T00:00:00Z");
+							PropertyFilter propertyFilter = new PropertyFilter();
+							propertyFilter.setTimestamp("last_edited_time");
+							propertyFilter.setLastEditedTime(timestampFilter);
+							return propertyFilter;
+						})));
+	}
+
 	static Stream<Arguments> compoundFilters() {
 		return Stream.of(andFilters(), orFilters()).flatMap(identity());
 	}
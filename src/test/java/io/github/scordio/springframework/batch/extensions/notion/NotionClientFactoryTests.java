@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import notion.api.v1.NotionClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class NotionClientFactoryTests {
+
+	private final NotionClientFactory factory = new NotionClientFactory();
+
+	@AfterEach
+	void tearDown() {
+		factory.destroy();
+	}
+
+	@Test
+	void should_reuse_client_for_same_token_and_base_url() {
+		// WHEN
+		NotionClient first = factory.getClient("token", "https://api.notion.com/v1");
+		NotionClient second = factory.getClient("token", "https://api.notion.com/v1");
+		// THEN
+		then(second).isSameAs(first);
+	}
+
+	@Test
+	void should_share_http_client_across_tokens() {
+		// WHEN
+		NotionClient first = factory.getClient("token", "https://api.notion.com/v1");
+		NotionClient second = factory.getClient("another-token", "https://api.notion.com/v1");
+		// THEN
+		then(second).isNotSameAs(first);
+		then(second.getHttpClient()).isSameAs(first.getHttpClient());
+	}
+
+	@Test
+	void should_create_new_client_after_destroy() {
+		// GIVEN
+		NotionClient first = factory.getClient("token", "https://api.notion.com/v1");
+		// WHEN
+		factory.destroy();
+		NotionClient second = factory.getClient("token", "https://api.notion.com/v1");
+		// THEN
+		then(second).isNotSameAs(first);
+		then(second.getHttpClient()).isNotSameAs(first.getHttpClient());
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static io.github.scordio.springframework.batch.extensions.notion.NotionDatabasePartitioner.MAX_VALUE_KEY;
+import static io.github.scordio.springframework.batch.extensions.notion.NotionDatabasePartitioner.MIN_VALUE_KEY;
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Integer.MIN_VALUE;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class NotionDatabasePartitionerTests {
+
+	@ParameterizedTest
+	@MethodSource
+	void partition(int minValue, int maxValue, int gridSize, List<List<Integer>> expected) {
+		// GIVEN
+		NotionDatabasePartitioner underTest = new NotionDatabasePartitioner();
+		underTest.setProperty("property");
+		underTest.setMinValue(minValue);
+		underTest.setMaxValue(maxValue);
+		// WHEN
+		Map<String, ExecutionContext> result = underTest.partition(gridSize);
+		// THEN
+		then(result.values()) //
+			.extracting(context -> Arrays.asList(context.getInt(MIN_VALUE_KEY),
+					context.containsKey(MAX_VALUE_KEY) ? context.getInt(MAX_VALUE_KEY) : null))
+			.containsExactlyElementsOf(expected);
+		then(result)
+			.containsOnlyKeys(Stream.iterate(0, i -> i + 1).limit(expected.size()).map(i -> "partition" + i).toList());
+	}
+
+	static Stream<Arguments> partition() {
+		return Stream.of( //
+				arguments(1, 10, 1, List.of(Arrays.asList(1, null))),
+				arguments(1, 10, 2, List.of(List.of(1, 6), Arrays.asList(6, null))),
+				arguments(1, 10, 3, List.of(List.of(1, 5), List.of(5, 9), Arrays.asList(9, null))),
+				arguments(0, 2, 5, List.of(List.of(0, 1), List.of(1, 2), Arrays.asList(2, null))),
+				arguments(-5, 4, 2, List.of(List.of(-5, 0), Arrays.asList(0, null))),
+				arguments(7, 7, 4, List.of(Arrays.asList(7, null))), arguments(8, 7, 4, List.of()),
+				arguments(MAX_VALUE - 3, MAX_VALUE, 2,
+						List.of(List.of(MAX_VALUE - 3, MAX_VALUE - 1), Arrays.asList(MAX_VALUE - 1, null))),
+				arguments(MAX_VALUE, MAX_VALUE, 1, List.of(Arrays.asList(MAX_VALUE, null))),
+				arguments(MIN_VALUE, MAX_VALUE, 2, List.of(List.of(MIN_VALUE, 0), Arrays.asList(0, null))));
+	}
+
+	@Test
+	void rangeFilter() {
+		// WHEN
+		Filter result = NotionDatabasePartitioner.rangeFilter("property", 1, 5);
+		// THEN
+		then(result.toQueryTopLevelFilter()).usingRecursiveComparison()
+			.isEqualTo(Filter.where()
+				.number("property")
+				.isGreaterThanOrEqualTo(1)
+				.and()
+				.number("property")
+				.isLessThan(5)
+				.toQueryTopLevelFilter());
+	}
+
+	@Test
+	void rangeFilter_without_upper_bound() {
+		// WHEN
+		Filter result = NotionDatabasePartitioner.rangeFilter("property", 1, null);
+		// THEN
+		then(result.toQueryTopLevelFilter()).usingRecursiveComparison()
+			.isEqualTo(Filter.where().number("property").isGreaterThanOrEqualTo(1).toQueryTopLevelFilter());
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import notion.api.v1.http.NotionHttpClient;
+import notion.api.v1.logging.Slf4jLogger;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowable;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class NotionHttpClientsTests {
+
+	// nothing listens on port 1, so connections are refused
+	private static final String UNREACHABLE_URL = "http://localhost:1/databases";
+
+	@Test
+	void should_throw_unchecked_exception_with_default_client() {
+		// GIVEN
+		NotionHttpClient client = NotionHttpClients.create(Duration.ofSeconds(1), Duration.ofSeconds(1));
+		// WHEN
+		Throwable thrown = catchThrowable(() -> client.get(new Slf4jLogger(), UNREACHABLE_URL, Map.of(), Map.of()));
+		// THEN
+		then(thrown).isInstanceOf(UncheckedIOException.class).hasCauseInstanceOf(ConnectException.class);
+	}
+
+	@Test
+	void should_throw_unchecked_exception_with_custom_client() {
+		// GIVEN
+		NotionHttpClient client = NotionHttpClients.create(HttpClient.newHttpClient(), Duration.ofSeconds(1));
+		// WHEN
+		Throwable thrown = catchThrowable(
+				() -> client.postTextBody(new Slf4jLogger(), UNREACHABLE_URL, Map.of(), "{}", Map.of()));
+		// THEN
+		then(thrown).isInstanceOf(UncheckedIOException.class).hasCauseInstanceOf(ConnectException.class);
+	}
+
+}
@@ -37,6 +37,7 @@ class NotionJvmSdkTests {
 		// @formatter:off
 		ArchRule rule = methods()
 				.that().arePublic().or().areProtected()
+				.and().areDeclaredInClassesThat().arePublic()
 				.should().notHaveRawReturnType(RESIDE_IN_NOTION_JVM_SDK_PACKAGE)
 				.andShould().notHaveRawParameterTypes(anyElementThat(RESIDE_IN_NOTION_JVM_SDK_PACKAGE));
 		// @formatter:on
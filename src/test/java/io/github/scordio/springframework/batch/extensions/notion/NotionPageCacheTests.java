@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.QueryResultsDecoder.DecodedResults;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class NotionPageCacheTests {
+
+	private static final DecodedResults RESULTS = new DecodedResults(List.of(Map.of("Name", "A")),
+			List.of("2024-01-01T00:00:00.000Z"), true, "cursor");
+
+	@Test
+	void should_return_cached_page() {
+		// GIVEN
+		NotionPageCache cache = new NotionPageCache();
+		cache.put("key", RESULTS, 10);
+
+		// WHEN
+		DecodedResults result = cache.get("key");
+
+		// THEN
+		then(result).isEqualTo(RESULTS);
+		then(cache.getSize()).isEqualTo(10);
+	}
+
+	@Test
+	void should_return_null_when_missing() {
+		// GIVEN
+		NotionPageCache cache = new NotionPageCache();
+		cache.put("key", RESULTS, 10);
+
+		// WHEN
+		DecodedResults result = cache.get("other");
+
+		// THEN
+		then(result).isNull();
+	}
+
+	@Test
+	void should_return_read_only_page() {
+		// GIVEN
+		NotionPageCache cache = new NotionPageCache();
+		List<Map<String, Object>> items = new ArrayList<>(List.of(Map.of("Name", "A")));
+		cache.put("key", new DecodedResults(items, new ArrayList<>(), false, null), 10);
+
+		// WHEN
+		DecodedResults result = cache.get("key");
+
+		// THEN
+		then(result.items()).isUnmodifiable();
+		then(result.lastEditedTimes()).isUnmodifiable();
+	}
+
+	@Test
+	void should_remove_expired_page() throws Exception {
+		// GIVEN
+		NotionPageCache cache = new NotionPageCache();
+		cache.setTimeToLive(Duration.ofMillis(1));
+		cache.put("key", RESULTS, 10);
+		Thread.sleep(10);
+
+		// WHEN
+		DecodedResults result = cache.get("key");
+
+		// THEN
+		then(result).isNull();
+		then(cache.getSize()).isZero();
+	}
+
+	@Test
+	void should_evict_least_recently_used_pages_beyond_max_size() {
+		// GIVEN
+		NotionPageCache cache = new NotionPageCache();
+		cache.setMaxSize(20);
+		cache.put("first", RESULTS, 10);
+		cache.put("second", RESULTS, 10);
+		cache.get("first");
+
+		// WHEN
+		cache.put("third", RESULTS, 10);
+
+		// THEN
+		then(cache.get("first")).isEqualTo(RESULTS);
+		then(cache.get("second")).isNull();
+		then(cache.get("third")).isEqualTo(RESULTS);
+		then(cache.getSize()).isEqualTo(20);
+	}
+
+	@Test
+	void should_not_cache_page_larger_than_max_size() {
+		// GIVEN
+		NotionPageCache cache = new NotionPageCache();
+		cache.setMaxSize(5);
+
+		// WHEN
+		cache.put("key", RESULTS, 10);
+
+		// THEN
+		then(cache.get("key")).isNull();
+		then(cache.getSize()).isZero();
+	}
+
+	@Test
+	void should_replace_page_with_same_key() {
+		// GIVEN
+		NotionPageCache cache = new NotionPageCache();
+		DecodedResults otherResults = new DecodedResults(List.of(), List.of(), false, null);
+		cache.put("key", RESULTS, 10);
+
+		// WHEN
+		cache.put("key", otherResults, 5);
+
+		// THEN
+		then(cache.get("key")).isEqualTo(otherResults);
+		then(cache.getSize()).isEqualTo(5);
+	}
+
+	@Test
+	void should_remove_all_pages_on_clear() {
+		// GIVEN
+		NotionPageCache cache = new NotionPageCache();
+		cache.put("first", RESULTS, 10);
+		cache.put("second", RESULTS, 10);
+
+		// WHEN
+		cache.clear();
+
+		// THEN
+		then(cache.get("first")).isNull();
+		then(cache.getSize()).isZero();
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class NotionQueryCoalescerTests {
+
+	@Test
+	void should_coalesce_identical_concurrent_queries() throws Exception {
+		// GIVEN
+		NotionQueryCoalescer coalescer = new NotionQueryCoalescer();
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicInteger queries = new AtomicInteger();
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+			queries.incrementAndGet();
+			awaitQuietly(latch);
+			return "body";
+		}));
+		waitUntil(() -> queries.get() == 1);
+
+		// WHEN
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+			queries.incrementAndGet();
+			return "other";
+		}));
+		waitUntil(() -> coalescer.getCoalescedQueries() == 1);
+		latch.countDown();
+
+		// THEN
+		then(first.get(5, TimeUnit.SECONDS)).isEqualTo("body");
+		then(second.get(5, TimeUnit.SECONDS)).isEqualTo("body");
+		then(queries).hasValue(1);
+	}
+
+	@Test
+	void should_not_coalesce_different_queries() {
+		// GIVEN
+		NotionQueryCoalescer coalescer = new NotionQueryCoalescer();
+
+		// WHEN
+		String first = coalescer.execute("first", () -> "first body");
+		String second = coalescer.execute("second", () -> "second body");
+
+		// THEN
+		then(first).isEqualTo("first body");
+		then(second).isEqualTo("second body");
+		then(coalescer.getCoalescedQueries()).isZero();
+	}
+
+	@Test
+	void should_not_coalesce_sequential_queries() {
+		// GIVEN
+		NotionQueryCoalescer coalescer = new NotionQueryCoalescer();
+		coalescer.execute("key", () -> "body");
+
+		// WHEN
+		String result = coalescer.execute("key", () -> "other");
+
+		// THEN
+		then(result).isEqualTo("other");
+		then(coalescer.getCoalescedQueries()).isZero();
+	}
+
+	@Test
+	void should_propagate_failure_to_coalesced_queries() throws Exception {
+		// GIVEN
+		NotionQueryCoalescer coalescer = new NotionQueryCoalescer();
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicInteger queries = new AtomicInteger();
+		IllegalStateException failure = new IllegalStateException("Query failure");
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+			queries.incrementAndGet();
+			awaitQuietly(latch);
+			throw failure;
+		}));
+		waitUntil(() -> queries.get() == 1);
+
+		// WHEN
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> "body"));
+		waitUntil(() -> coalescer.getCoalescedQueries() == 1);
+		latch.countDown();
+
+		// THEN
+		thenThrownBy(first::join).hasCause(failure);
+		thenThrownBy(second::join).hasCause(failure);
+	}
+
+	@Test
+	void should_propagate_checked_failure_to_coalesced_queries() throws Exception {
+		// GIVEN
+		NotionQueryCoalescer coalescer = new NotionQueryCoalescer();
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicInteger queries = new AtomicInteger();
+		IOException failure = new IOException("Connection reset");
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+			queries.incrementAndGet();
+			awaitQuietly(latch);
+			throw sneakyThrow(failure);
+		}));
+		waitUntil(() -> queries.get() == 1);
+
+		// WHEN
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> "body"));
+		waitUntil(() -> coalescer.getCoalescedQueries() == 1);
+		latch.countDown();
+
+		// THEN
+		thenThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCause(failure);
+		thenThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCause(failure);
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Throwable> RuntimeException sneakyThrow(Throwable throwable) throws E {
+		throw (E) throwable;
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
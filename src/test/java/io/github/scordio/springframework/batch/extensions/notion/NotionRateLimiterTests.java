@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class NotionRateLimiterTests {
+
+	@Test
+	void should_not_wait_within_burst() {
+		// GIVEN
+		NotionRateLimiter rateLimiter = new NotionRateLimiter();
+		rateLimiter.setRequestsPerSecond(1);
+		rateLimiter.setBurst(3);
+
+		// WHEN
+		rateLimiter.acquire();
+		rateLimiter.acquire();
+		rateLimiter.acquire();
+
+		// THEN
+		then(rateLimiter.getTotalWaitTime()).isZero();
+	}
+
+	@Test
+	void should_wait_beyond_burst() {
+		// GIVEN
+		NotionRateLimiter rateLimiter = new NotionRateLimiter();
+		rateLimiter.setRequestsPerSecond(20);
+		rateLimiter.setBurst(1);
+
+		// WHEN
+		rateLimiter.acquire();
+		rateLimiter.acquire();
+		rateLimiter.acquire();
+
+		// THEN
+		then(rateLimiter.getTotalWaitTime()).isGreaterThan(Duration.ofMillis(50));
+	}
+
+	@Test
+	void should_pause_and_slow_down_when_rate_limited() {
+		// GIVEN
+		NotionRateLimiter rateLimiter = new NotionRateLimiter();
+		rateLimiter.setRequestsPerSecond(10);
+
+		// WHEN
+		rateLimiter.onRateLimited(Duration.ofMillis(200));
+		rateLimiter.acquire();
+
+		// THEN
+		then(rateLimiter.getTotalWaitTime()).isGreaterThan(Duration.ofMillis(100));
+		then(rateLimiter.getCurrentRequestsPerSecond()).isEqualTo(5);
+	}
+
+	@Test
+	void should_speed_up_after_successful_requests() {
+		// GIVEN
+		NotionRateLimiter rateLimiter = new NotionRateLimiter();
+		rateLimiter.setRequestsPerSecond(10);
+		rateLimiter.onRateLimited(Duration.ZERO);
+
+		// WHEN
+		for (int i = 0; i < 5; i++) {
+			rateLimiter.onSuccess();
+		}
+
+		// THEN
+		then(rateLimiter.getCurrentRequestsPerSecond()).isEqualTo(7.5);
+	}
+
+	@Test
+	void should_not_exceed_configured_rate() {
+		// GIVEN
+		NotionRateLimiter rateLimiter = new NotionRateLimiter();
+		rateLimiter.setRequestsPerSecond(10);
+
+		// WHEN
+		rateLimiter.onSuccess();
+
+		// THEN
+		then(rateLimiter.getCurrentRequestsPerSecond()).isEqualTo(10);
+	}
+
+}
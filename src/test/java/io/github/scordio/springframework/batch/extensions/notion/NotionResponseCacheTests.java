@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class NotionResponseCacheTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void should_return_cached_response() {
+		// GIVEN
+		NotionResponseCache cache = new NotionResponseCache();
+		cache.setDirectory(directory);
+		cache.put("key", "{\"results\":[]}");
+
+		// WHEN
+		String result = cache.get("key");
+
+		// THEN
+		then(result).isEqualTo("{\"results\":[]}");
+	}
+
+	@Test
+	void should_return_null_when_missing() {
+		// GIVEN
+		NotionResponseCache cache = new NotionResponseCache();
+		cache.setDirectory(directory);
+		cache.put("key", "{\"results\":[]}");
+
+		// WHEN
+		String result = cache.get("other");
+
+		// THEN
+		then(result).isNull();
+	}
+
+	@Test
+	void should_delete_expired_response() throws Exception {
+		// GIVEN
+		NotionResponseCache cache = new NotionResponseCache();
+		cache.setDirectory(directory);
+		cache.setTimeToLive(Duration.ofMinutes(1));
+		cache.put("key", "{\"results\":[]}");
+
+		try (var files = Files.list(directory)) {
+			Path file = files.findFirst().orElseThrow();
+			Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofMinutes(2))));
+		}
+
+		// WHEN
+		String result = cache.get("key");
+
+		// THEN
+		then(result).isNull();
+		then(directory).isEmptyDirectory();
+	}
+
+	@Test
+	void should_evict_oldest_responses_beyond_max_size() throws Exception {
+		// GIVEN
+		NotionResponseCache cache = new NotionResponseCache();
+		cache.setDirectory(directory);
+		cache.setMaxSize(20);
+		cache.put("first", "0123456789");
+
+		try (var files = Files.list(directory)) {
+			Path file = files.findFirst().orElseThrow();
+			Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(10)));
+		}
+
+		cache.put("second", "0123456789");
+
+		// WHEN
+		cache.put("third", "0123456789");
+
+		// THEN
+		then(cache.get("first")).isNull();
+		then(cache.get("second")).isEqualTo("0123456789");
+		then(cache.get("third")).isEqualTo("0123456789");
+	}
+
+	@Test
+	void should_not_cache_response_larger_than_max_size() {
+		// GIVEN
+		NotionResponseCache cache = new NotionResponseCache();
+		cache.setDirectory(directory);
+		cache.setMaxSize(5);
+
+		// WHEN
+		cache.put("key", "0123456789");
+
+		// THEN
+		then(cache.get("key")).isNull();
+	}
+
+	@Test
+	void should_delete_all_responses_on_clear() {
+		// GIVEN
+		NotionResponseCache cache = new NotionResponseCache();
+		cache.setDirectory(directory);
+		cache.put("first", "{\"results\":[]}");
+		cache.put("second", "{\"results\":[]}");
+
+		// WHEN
+		cache.clear();
+
+		// THEN
+		then(directory).isEmptyDirectory();
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import notion.api.v1.exception.NotionAPIError;
+import notion.api.v1.http.NotionHttpResponse;
+import notion.api.v1.model.common.ObjectType;
+import notion.api.v1.model.error.Error;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class NotionRetryPolicyTests {
+
+	@ParameterizedTest
+	@MethodSource
+	void isTransient(Throwable throwable, boolean expected) {
+		// WHEN
+		boolean result = NotionRetryPolicy.isTransient(throwable);
+		// THEN
+		then(result).isEqualTo(expected);
+	}
+
+	static Stream<Arguments> isTransient() {
+		return Stream.of( //
+				arguments(apiError(400), false), //
+				arguments(apiError(429), false), //
+				arguments(apiError(500), false), //
+				arguments(apiError(502), true), //
+				arguments(apiError(503), true), //
+				arguments(apiError(504), true), //
+				arguments(new SocketTimeoutException(), true), //
+				arguments(new HttpTimeoutException("timeout"), true), //
+				arguments(new HttpConnectTimeoutException("timeout"), true), //
+				arguments(new UncheckedIOException(new SocketTimeoutException()), true), //
+				arguments(new ConnectException(), false), //
+				arguments(new IllegalStateException(), false));
+	}
+
+	private static NotionAPIError apiError(int status) {
+		return new NotionAPIError(new Error(ObjectType.Error, status, "code", "message"),
+				new NotionHttpResponse(status, "", Map.of()));
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowable;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PageRequestEncoderTests {
+
+	private static final String DATABASE_ID = "d9824bdc-8445-4327-be8b-5b47500af6ce";
+
+	@Test
+	void should_encode_properties() throws Exception {
+		// GIVEN
+		Map<String, String> typesByName = new HashMap<>();
+		typesByName.put("Name", "title");
+		typesByName.put("Description", "rich_text");
+		typesByName.put("Amount", "number");
+		typesByName.put("Done", "checkbox");
+		typesByName.put("Category", "select");
+		typesByName.put("State", "status");
+		typesByName.put("Tags", "multi_select");
+		typesByName.put("Day", "date");
+		typesByName.put("Timestamp", "date");
+		typesByName.put("Link", "url");
+		typesByName.put("Mail", "email");
+		typesByName.put("Phone", "phone_number");
+
+		Map<String, Object> properties = new LinkedHashMap<>();
+		properties.put("Name", "First");
+		properties.put("Description", "Some text");
+		properties.put("Amount", 12.5);
+		properties.put("Done", true);
+		properties.put("Category", "A");
+		properties.put("State", "Done");
+		properties.put("Tags", List.of("X", "Y"));
+		properties.put("Day", LocalDate.of(2024, 1, 31));
+		properties.put("Timestamp", OffsetDateTime.of(2024, 1, 31, 10, 30, 0, 0, ZoneOffset.UTC));
+		properties.put("Link", "https://example.com");
+		properties.put("Mail", "user@example.com");
+		properties.put("Phone", "+1 555 0100");
+
+		// WHEN
+		String result = new PageRequestEncoder(typesByName).encode(DATABASE_ID, properties);
+
+		// THEN
+		JSONAssert.assertEquals("""
+				{
+				  "parent": { "database_id": "d9824bdc-8445-4327-be8b-5b47500af6ce" },
+				  "properties": {
+				    "Name": { "title": [ { "text": { "content": "First" } } ] },
+				    "Description": { "rich_text": [ { "text": { "content": "Some text" } } ] },
+				    "Amount": { "number": 12.5 },
+				    "Done": { "checkbox": true },
+				    "Category": { "select": { "name": "A" } },
+				    "State": { "status": { "name": "Done" } },
+				    "Tags": { "multi_select": [ { "name": "X" }, { "name": "Y" } ] },
+				    "Day": { "date": { "start": "2024-01-31" } },
+				    "Timestamp": { "date": { "start": "2024-01-31T10:30Z" } },
+				    "Link": { "url": "https://example.com" },
+				    "Mail": { "email": "user@example.com" },
+				    "Phone": { "phone_number": "+1 555 0100" }
+				  }
+				}
+				""", result, JSONCompareMode.STRICT);
+	}
+
+	@Test
+	void should_encode_null_values() throws Exception {
+		// GIVEN
+		Map<String, String> typesByName = Map.of("Name", "title", "Amount", "number", "Done", "checkbox", "Category",
+				"select", "Tags", "multi_select", "Day", "date");
+
+		Map<String, Object> properties = new HashMap<>();
+		typesByName.keySet().forEach(name -> properties.put(name, null));
+
+		// WHEN
+		String result = new PageRequestEncoder(typesByName).encode(DATABASE_ID, properties);
+
+		// THEN
+		JSONAssert.assertEquals("""
+				{
+				  "parent": { "database_id": "d9824bdc-8445-4327-be8b-5b47500af6ce" },
+				  "properties": {
+				    "Name": { "title": [] },
+				    "Amount": { "number": null },
+				    "Done": { "checkbox": false },
+				    "Category": { "select": null },
+				    "Tags": { "multi_select": [] },
+				    "Day": { "date": null }
+				  }
+				}
+				""", result, JSONCompareMode.STRICT);
+	}
+
+	@Test
+	void should_match_property_names_case_insensitively() throws Exception {
+		// GIVEN
+		PageRequestEncoder encoder = new PageRequestEncoder(Map.of("Name", "title", "Amount", "number"));
+
+		// WHEN
+		String result = encoder.encode(DATABASE_ID, Map.of("name", "First", "AMOUNT", "3"));
+
+		// THEN
+		JSONAssert.assertEquals("""
+				{
+				  "parent": { "database_id": "d9824bdc-8445-4327-be8b-5b47500af6ce" },
+				  "properties": {
+				    "Name": { "title": [ { "text": { "content": "First" } } ] },
+				    "Amount": { "number": 3.0 }
+				  }
+				}
+				""", result, JSONCompareMode.STRICT);
+	}
+
+	@Test
+	void should_split_long_text() throws Exception {
+		// GIVEN
+		PageRequestEncoder encoder = new PageRequestEncoder(Map.of("Name", "title"));
+		String first = "a".repeat(PageRequestEncoder.MAX_TEXT_LENGTH);
+		String second = "b".repeat(10);
+
+		// WHEN
+		String result = encoder.encode(DATABASE_ID, Map.of("Name", first + second));
+
+		// THEN
+		JSONAssert.assertEquals("""
+				{
+				  "parent": { "database_id": "d9824bdc-8445-4327-be8b-5b47500af6ce" },
+				  "properties": {
+				    "Name": { "title": [ { "text": { "content": "%s" } }, { "text": { "content": "%s" } } ] }
+				  }
+				}
+				""".formatted(first, second), result, JSONCompareMode.STRICT);
+	}
+
+	@Test
+	void should_fail_with_unknown_property() {
+		// GIVEN
+		PageRequestEncoder encoder = new PageRequestEncoder(Map.of("Name", "title"));
+
+		// WHEN
+		Throwable thrown = catchThrowable(() -> encoder.encode(DATABASE_ID, Map.of("Other", "value")));
+
+		// THEN
+		then(thrown).isInstanceOf(IllegalStateException.class)
+			.hasMessage("Property not found in database " + DATABASE_ID + ": Other");
+	}
+
+	@Test
+	void should_fail_with_unsupported_property_type() {
+		// GIVEN
+		PageRequestEncoder encoder = new PageRequestEncoder(Map.of("Owner", "people"));
+
+		// WHEN
+		Throwable thrown = catchThrowable(() -> encoder.encode(DATABASE_ID, Map.of("Owner", "value")));
+
+		// THEN
+		then(thrown).isInstanceOf(IllegalStateException.class)
+			.hasMessage("Unsupported type of property 'Owner': people");
+	}
+
+}
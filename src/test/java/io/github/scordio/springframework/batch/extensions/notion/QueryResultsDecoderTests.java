@@ -0,0 +1,264 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion;
+
+import io.github.scordio.springframework.batch.extensions.notion.QueryResultsDecoder.DecodedResults;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowable;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+
+class QueryResultsDecoderTests {
+
+	@Test
+	void should_decode_properties_and_pagination() {
+		// GIVEN
+		String body = """
+				{
+				  "object": "list",
+				  "results": [
+				    {
+				      "object": "page",
+				      "id": "59833787-2cf9-4fdf-8782-e53db20768a5",
+				      "created_by": { "object": "user", "id": "ee5f0f84-409a-440f-983a-a5315961c6e4" },
+				      "properties": {
+				        "Name": {
+				          "id": "title",
+				          "type": "title",
+				          "title": [
+				            { "type": "text", "text": { "content": "First", "link": null }, "plain_text": "First" },
+				            { "type": "text", "text": { "content": " ignored", "link": null }, "plain_text": " ignored" }
+				          ]
+				        },
+				        "Value": { "id": "%3AUPp", "type": "rich_text", "rich_text": [] }
+				      }
+				    }
+				  ],
+				  "next_cursor": "7c6b1c95-de50-45ca-94e6-af1d9fd295ab",
+				  "has_more": true,
+				  "type": "page_or_database",
+				  "page_or_database": {}
+				}
+				""";
+
+		// WHEN
+		DecodedResults results = QueryResultsDecoder.decode(body);
+
+		// THEN
+		then(results.items()).containsExactly(Map.of("Name", "First", "Value", ""));
+		then(results.hasMore()).isTrue();
+		then(results.nextCursor()).isEqualTo("7c6b1c95-de50-45ca-94e6-af1d9fd295ab");
+	}
+
+	@Test
+	void should_decode_last_page() {
+		// GIVEN
+		String body = """
+				{ "object": "list", "results": [], "next_cursor": null, "has_more": false }
+				""";
+
+		// WHEN
+		DecodedResults results = QueryResultsDecoder.decode(body);
+
+		// THEN
+		then(results.items()).isEmpty();
+		then(results.hasMore()).isFalse();
+		then(results.nextCursor()).isNull();
+	}
+
+	@Test
+	void should_decode_last_edited_times() {
+		// GIVEN
+		String body = """
+				{
+				  "object": "list",
+				  "results": [
+				    { "object": "page", "last_edited_time": "2024-01-02T08:30:00.000Z", "properties": {} },
+				    { "object": "page", "properties": {} }
+				  ],
+				  "next_cursor": null,
+				  "has_more": false
+				}
+				""";
+
+		// WHEN
+		DecodedResults results = QueryResultsDecoder.decode(body);
+
+		// THEN
+		then(results.items()).hasSize(2);
+		then(results.lastEditedTimes()).containsExactly("2024-01-02T08:30:00.000Z", null);
+	}
+
+	@Test
+	void should_decode_typed_properties() {
+		// GIVEN
+		String body = """
+				{
+				  "results": [
+				    {
+				      "properties": {
+				        "Number": { "id": "a", "type": "number", "number": 42.5 },
+				        "Checkbox": { "id": "b", "type": "checkbox", "checkbox": true },
+				        "Select": { "id": "c", "type": "select", "select": { "id": "1", "name": "Option", "color": "red" } },
+				        "Status": { "id": "d", "type": "status", "status": { "id": "2", "name": "Done", "color": "green" } },
+				        "Tags": {
+				          "id": "e",
+				          "type": "multi_select",
+				          "multi_select": [ { "id": "3", "name": "First" }, { "id": "4", "name": "Second" } ]
+				        },
+				        "Day": { "id": "f", "type": "date", "date": { "start": "2024-10-01", "end": null, "time_zone": null } },
+				        "Time": { "id": "g", "type": "date", "date": { "start": "2024-10-01T12:30:00.000+02:00", "end": null } },
+				        "Url": { "id": "h", "type": "url", "url": "https://example.com" },
+				        "Email": { "id": "i", "type": "email", "email": "user@example.com" },
+				        "Phone": { "id": "j", "type": "phone_number", "phone_number": "+1 555 0100" },
+				        "ID": { "id": "k", "type": "unique_id", "unique_id": { "prefix": "TASK", "number": 7 } },
+				        "Text": { "id": "l", "type": "formula", "formula": { "type": "string", "string": "Value" } },
+				        "Total": { "id": "m", "type": "formula", "formula": { "type": "number", "number": 3 } },
+				        "Flag": { "id": "n", "type": "formula", "formula": { "type": "boolean", "boolean": false } },
+				        "When": { "id": "o", "type": "formula", "formula": { "type": "date", "date": { "start": "2024-10-02" } } }
+				      }
+				    }
+				  ],
+				  "next_cursor": null,
+				  "has_more": false
+				}
+				""";
+
+		// WHEN
+		DecodedResults results = QueryResultsDecoder.decode(body);
+
+		// THEN
+		then(results.items()).singleElement()
+			.asInstanceOf(MAP)
+			.containsEntry("Number", 42.5)
+			.containsEntry("Checkbox", true)
+			.containsEntry("Select", "Option")
+			.containsEntry("Status", "Done")
+			.containsEntry("Tags", List.of("First", "Second"))
+			.containsEntry("Day", LocalDate.of(2024, 10, 1))
+			.containsEntry("Time", OffsetDateTime.of(2024, 10, 1, 12, 30, 0, 0, ZoneOffset.ofHours(2)))
+			.containsEntry("Url", "https://example.com")
+			.containsEntry("Email", "user@example.com")
+			.containsEntry("Phone", "+1 555 0100")
+			.containsEntry("ID", 7L)
+			.containsEntry("Text", "Value")
+			.containsEntry("Total", 3.0)
+			.containsEntry("Flag", false)
+			.containsEntry("When", LocalDate.of(2024, 10, 2));
+	}
+
+	@Test
+	void should_decode_empty_typed_properties() {
+		// GIVEN
+		String body = """
+				{
+				  "results": [
+				    {
+				      "properties": {
+				        "Number": { "id": "a", "type": "number", "number": null },
+				        "Select": { "id": "c", "type": "select", "select": null },
+				        "Tags": { "id": "e", "type": "multi_select", "multi_select": [] },
+				        "Day": { "id": "f", "type": "date", "date": null },
+				        "Url": { "id": "h", "type": "url", "url": null },
+				        "Total": { "id": "m", "type": "formula", "formula": { "type": "number", "number": null } }
+				      }
+				    }
+				  ],
+				  "next_cursor": null,
+				  "has_more": false
+				}
+				""";
+
+		// WHEN
+		DecodedResults results = QueryResultsDecoder.decode(body);
+
+		// THEN
+		then(results.items()).singleElement()
+			.asInstanceOf(MAP)
+			.containsEntry("Number", null)
+			.containsEntry("Select", null)
+			.containsEntry("Tags", List.of())
+			.containsEntry("Day", null)
+			.containsEntry("Url", null)
+			.containsEntry("Total", null);
+	}
+
+	@Test
+	void should_decode_with_plan() {
+		// GIVEN
+		String body = """
+				{
+				  "results": [
+				    {
+				      "properties": {
+				        "Name": { "id": "title", "type": "title", "title": [ { "plain_text": "First" } ] },
+				        "Count": { "id": "a", "type": "number", "number": 3 },
+				        "Owner": { "id": "b", "type": "people", "people": [] }
+				      }
+				    }
+				  ],
+				  "next_cursor": null,
+				  "has_more": false
+				}
+				""";
+
+		DecodingPlan plan = DecodingPlan.of(Map.of("Name", "title", "Count", "number"));
+
+		// WHEN
+		DecodedResults results = QueryResultsDecoder.decode(body, plan);
+
+		// THEN
+		then(results.items()).containsExactly(Map.of("Name", "First", "Count", 3.0));
+	}
+
+	@Test
+	void should_fail_to_plan_unsupported_type() {
+		// WHEN
+		Throwable throwable = catchThrowable(() -> DecodingPlan.of(Map.of("Owner", "people")));
+
+		// THEN
+		then(throwable).isInstanceOf(IllegalStateException.class)
+			.hasMessage("Unsupported type of property 'Owner': people");
+	}
+
+	@Test
+	void should_fail_with_unsupported_type() {
+		// GIVEN
+		String body = """
+				{
+				  "results": [
+				    { "properties": { "Count": { "id": "abc", "type": "rollup", "rollup": { "type": "array", "array": [] } } } }
+				  ],
+				  "next_cursor": null,
+				  "has_more": false
+				}
+				""";
+
+		// WHEN
+		Throwable throwable = catchThrowable(() -> QueryResultsDecoder.decode(body));
+
+		// THEN
+		then(throwable).isInstanceOf(IllegalArgumentException.class).hasMessage("Unsupported type: rollup");
+	}
+
+}
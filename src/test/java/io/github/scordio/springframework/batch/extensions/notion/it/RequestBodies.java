@@ -21,6 +21,7 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.Map;
 import java.util.UUID;
 
 public class RequestBodies {
@@ -30,9 +31,17 @@ public class RequestBodies {
 	}
 
 	public static String queryRequest(UUID startCursor, int pageSize, JSONObject... sorts) {
+		return queryRequest(null, startCursor, pageSize, sorts);
+	}
+
+	public static String queryRequest(JSONObject filter, UUID startCursor, int pageSize, JSONObject... sorts) {
 		try {
 			JSONObject jsonObject = new JSONObject();
 
+			if (filter != null) {
+				jsonObject.put("filter", filter);
+			}
+
 			if (sorts.length > 0) {
 				jsonObject.put("sorts", new JSONArray(sorts));
 			}
@@ -47,6 +56,38 @@ public class RequestBodies {
 		}
 	}
 
+	public static JSONObject andFilter(JSONObject... filters) {
+		try {
+			return new JSONObject().put("and", new JSONArray(filters));
+		}
+		catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public static JSONObject numberFilter(String property, String condition, Object value) {
+		try {
+			return new JSONObject() //
+				.put("property", property)
+				.put("number", new JSONObject().put(condition, value));
+		}
+		catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public static JSONObject timestampFilter(Timestamp timestamp, String condition, Object value) {
+		try {
+			String name = timestamp.name().toLowerCase();
+			return new JSONObject() //
+				.put("timestamp", name)
+				.put(name, new JSONObject().put(condition, value));
+		}
+		catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	public static JSONObject sortByProperty(String property, Direction direction) {
 		try {
 			return new JSONObject() //
@@ -58,6 +99,17 @@ public class RequestBodies {
 		}
 	}
 
+	public static JSONObject sortByTimestamp(Timestamp timestamp, Direction direction) {
+		try {
+			return new JSONObject() //
+				.put("timestamp", timestamp.name().toLowerCase())
+				.put("direction", direction.name().toLowerCase());
+		}
+		catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	public static JSONObject sortByTimestamp(String property, Timestamp timestamp) {
 		try {
 			return new JSONObject() //
@@ -69,4 +121,28 @@ public class RequestBodies {
 		}
 	}
 
+	public static String createPageRequest(UUID databaseId, Map<String, JSONObject> properties) {
+		try {
+			return new JSONObject() //
+				.put("parent", new JSONObject().put("database_id", databaseId.toString()))
+				.put("properties", new JSONObject(properties))
+				.toString();
+		}
+		catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public static JSONObject textValue(String type, String value) {
+		try {
+			return new JSONObject() //
+				.put(type, new JSONArray() //
+					.put(new JSONObject() //
+						.put("text", new JSONObject().put("content", value))));
+		}
+		catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 }
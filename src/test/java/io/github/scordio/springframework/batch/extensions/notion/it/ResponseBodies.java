@@ -47,15 +47,58 @@ public class ResponseBodies {
 		}
 	}
 
-	public static JSONObject result(UUID id, UUID databaseId, Map<?, ?> properties) {
+	public static String databaseResponse(UUID id, Map<String, JSONObject> properties) {
+		try {
+			return new JSONObject() //
+				.put("object", "database")
+				.put("id", id.toString())
+				.put("title", new JSONArray())
+				.put("properties", new JSONObject(properties))
+				.toString();
+		}
+		catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public static JSONObject databaseProperty(String id, String name, String type) {
 		try {
-			Instant now = Instant.now();
+			return new JSONObject() //
+				.put("id", id)
+				.put("name", name)
+				.put("type", type)
+				.put(type, new JSONObject());
+		}
+		catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
 
+	public static String errorResponse(int status, String code, String message) {
+		try {
+			return new JSONObject() //
+				.put("object", "error")
+				.put("status", status)
+				.put("code", code)
+				.put("message", message)
+				.toString();
+		}
+		catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public static JSONObject result(UUID id, UUID databaseId, Map<?, ?> properties) {
+		return result(id, databaseId, Instant.now(), properties);
+	}
+
+	public static JSONObject result(UUID id, UUID databaseId, Instant timestamp, Map<?, ?> properties) {
+		try {
 			return new JSONObject() //
 				.put("object", "page")
 				.put("id", id.toString())
-				.put("created_time", now.toString())
-				.put("last_edited_time", now.toString())
+				.put("created_time", timestamp.toString())
+				.put("last_edited_time", timestamp.toString())
 				.put("created_by", new JSONObject())
 				.put("last_edited_by", new JSONObject())
 				.put("parent", new JSONObject() //
@@ -99,6 +142,18 @@ public class ResponseBodies {
 		}
 	}
 
+	public static JSONObject number(Number value) {
+		try {
+			return new JSONObject() //
+				.put("id", "%3DJsd")
+				.put("type", "number")
+				.put("number", value);
+		}
+		catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	public static JSONObject richText(String value) {
 		try {
 			return new JSONObject() //
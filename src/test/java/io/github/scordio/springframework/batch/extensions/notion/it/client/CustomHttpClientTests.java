@@ -0,0 +1,190 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.it.client;
+
+import io.github.scordio.springframework.batch.extensions.notion.NotionClientFactory;
+import io.github.scordio.springframework.batch.extensions.notion.NotionDatabaseItemReader;
+import io.github.scordio.springframework.batch.extensions.notion.it.IntegrationTest;
+import io.github.scordio.springframework.batch.extensions.notion.it.client.CustomHttpClientTests.CustomHttpClientJob.Item;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.RecordPropertyMapper;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.support.ListItemWriter;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.givenThat;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.queryRequest;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestHeaders.NOTION_VERSION;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestHeaders.NOTION_VERSION_VALUE;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.queryResponse;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.result;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.richText;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.title;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
+import static org.springframework.batch.core.ExitStatus.COMPLETED;
+import static wiremock.com.google.common.net.HttpHeaders.AUTHORIZATION;
+import static wiremock.com.google.common.net.HttpHeaders.CONTENT_TYPE;
+
+@IntegrationTest
+class CustomHttpClientTests {
+
+	private static final UUID DATABASE_ID = randomUUID();
+
+	private static final int PAGE_SIZE = 2;
+
+	@Autowired
+	JobLauncherTestUtils launcher;
+
+	@Autowired
+	ListItemWriter<Item> itemWriter;
+
+	@Test
+	void should_use_custom_http_client_and_retry_read_timeout() throws Exception {
+		// GIVEN
+		UUID nextCursor = randomUUID();
+
+		JSONObject firstResult = result(randomUUID(), DATABASE_ID, Map.of("Name", title("A"), "Value", richText("1")));
+		JSONObject secondResult = result(randomUUID(), DATABASE_ID, Map.of("Name", title("B"), "Value", richText("2")));
+		JSONObject thirdResult = result(randomUUID(), DATABASE_ID, Map.of("Name", title("C"), "Value", richText("3")));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withHeader(AUTHORIZATION, matching("Bearer .+"))
+			.withHeader(CONTENT_TYPE, containing("application/json"))
+			.withHeader(NOTION_VERSION, equalTo(NOTION_VERSION_VALUE))
+			.withRequestBody(equalToJson(queryRequest(PAGE_SIZE)))
+			.willReturn(okJson(queryResponse(nextCursor, firstResult, secondResult))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.inScenario("Slow response")
+			.whenScenarioStateIs(STARTED)
+			.withRequestBody(equalToJson(queryRequest(nextCursor, PAGE_SIZE)))
+			.willReturn(okJson(queryResponse(thirdResult)).withFixedDelay(2000))
+			.willSetStateTo("Fast"));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.inScenario("Slow response")
+			.whenScenarioStateIs("Fast")
+			.withRequestBody(equalToJson(queryRequest(nextCursor, PAGE_SIZE)))
+			.willReturn(okJson(queryResponse(thirdResult))));
+
+		// WHEN
+		JobExecution jobExecution = launcher.launchJob();
+
+		// THEN
+		then(jobExecution.getExitStatus()).isEqualTo(COMPLETED);
+
+		then(itemWriter.getWrittenItems()).asInstanceOf(LIST)
+			.containsExactly( //
+					new Item("A", "1"), //
+					new Item("B", "2"), //
+					new Item("C", "3"));
+
+		verify(2, postRequestedFor(urlEqualTo("/databases/%s/query".formatted(DATABASE_ID))) //
+			.withRequestBody(equalToJson(queryRequest(nextCursor, PAGE_SIZE))));
+	}
+
+	@SpringBootApplication
+	static class CustomHttpClientJob {
+
+		@Value("${wiremock.server.baseUrl}")
+		private String wiremockBaseUrl;
+
+		@Bean
+		Job job(JobRepository jobRepository, Step step) {
+			return new JobBuilder("TEST-JOB", jobRepository).start(step).build();
+		}
+
+		@Bean
+		Step step(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+			return new StepBuilder("TEST-STEP", jobRepository) //
+				.<Item, Item>chunk(PAGE_SIZE, transactionManager) //
+				.reader(itemReader()) //
+				.writer(itemWriter()) //
+				.build();
+		}
+
+		@Bean
+		NotionClientFactory clientFactory() {
+			NotionClientFactory clientFactory = new NotionClientFactory();
+
+			clientFactory.setHttpClient(HttpClient.newBuilder()
+				.version(Version.HTTP_2)
+				.executor(Executors.newCachedThreadPool())
+				.connectTimeout(Duration.ofSeconds(1))
+				.build());
+			clientFactory.setReadTimeout(Duration.ofMillis(500));
+
+			return clientFactory;
+		}
+
+		@Bean
+		NotionDatabaseItemReader<Item> itemReader() {
+			NotionDatabaseItemReader<Item> reader = new NotionDatabaseItemReader<>();
+
+			reader.setToken("token");
+			reader.setBaseUrl(wiremockBaseUrl);
+			reader.setDatabaseId(DATABASE_ID.toString());
+
+			reader.setPageSize(PAGE_SIZE);
+			reader.setPropertyMapper(new RecordPropertyMapper<>());
+			reader.setClientFactory(clientFactory());
+			reader.setBackOffPolicy(new FixedBackOffPolicy());
+
+			return reader;
+		}
+
+		@Bean
+		ListItemWriter<Item> itemWriter() {
+			return new ListItemWriter<>();
+		}
+
+		record Item(String name, String value) {
+		}
+
+	}
+
+}
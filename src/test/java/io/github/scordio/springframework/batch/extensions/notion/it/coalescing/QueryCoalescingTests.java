@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.it.coalescing;
+
+import io.github.scordio.springframework.batch.extensions.notion.NotionDatabaseItemReader;
+import io.github.scordio.springframework.batch.extensions.notion.NotionQueryCoalescer;
+import io.github.scordio.springframework.batch.extensions.notion.it.IntegrationTest;
+import io.github.scordio.springframework.batch.extensions.notion.it.coalescing.QueryCoalescingTests.ConcurrentJob.Item;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.RecordPropertyMapper;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.support.ListItemWriter;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.givenThat;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.queryRequest;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.queryResponse;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.result;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.richText;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.title;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
+import static org.springframework.batch.core.ExitStatus.COMPLETED;
+
+@IntegrationTest
+class QueryCoalescingTests {
+
+	private static final UUID DATABASE_ID = randomUUID();
+
+	private static final int PAGE_SIZE = 2;
+
+	@Autowired
+	JobLauncherTestUtils launcher;
+
+	@Autowired
+	ListItemWriter<Item> firstItemWriter;
+
+	@Autowired
+	ListItemWriter<Item> secondItemWriter;
+
+	@Autowired
+	NotionQueryCoalescer queryCoalescer;
+
+	@Test
+	void should_send_identical_concurrent_queries_once() throws Exception {
+		// GIVEN
+		JSONObject firstResult = result(randomUUID(), DATABASE_ID, Map.of("Name", title("A"), "Value", richText("1")));
+		JSONObject secondResult = result(randomUUID(), DATABASE_ID, Map.of("Name", title("B"), "Value", richText("2")));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(queryRequest(PAGE_SIZE)))
+			.willReturn(okJson(queryResponse(firstResult, secondResult)).withFixedDelay(1000)));
+
+		// WHEN
+		JobExecution jobExecution = launcher.launchJob();
+
+		// THEN
+		then(jobExecution.getExitStatus()).isEqualTo(COMPLETED);
+
+		then(firstItemWriter.getWrittenItems()).asInstanceOf(LIST)
+			.containsExactly( //
+					new Item("A", "1"), //
+					new Item("B", "2"));
+
+		then(secondItemWriter.getWrittenItems()).asInstanceOf(LIST)
+			.containsExactly( //
+					new Item("A", "1"), //
+					new Item("B", "2"));
+
+		verify(1, postRequestedFor(urlEqualTo("/databases/%s/query".formatted(DATABASE_ID))) //
+			.withRequestBody(equalToJson(queryRequest(PAGE_SIZE))));
+
+		then(queryCoalescer.getCoalescedQueries()).isEqualTo(1);
+	}
+
+	@SpringBootApplication
+	static class ConcurrentJob {
+
+		@Value("${wiremock.server.baseUrl}")
+		private String wiremockBaseUrl;
+
+		@Bean
+		Job job(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+			Flow firstFlow = new FlowBuilder<Flow>("FIRST-FLOW")
+				.start(step("FIRST-STEP", firstItemReader(), firstItemWriter(), jobRepository, transactionManager))
+				.build();
+
+			Flow secondFlow = new FlowBuilder<Flow>("SECOND-FLOW")
+				.start(step("SECOND-STEP", secondItemReader(), secondItemWriter(), jobRepository, transactionManager))
+				.build();
+
+			Flow splitFlow = new FlowBuilder<Flow>("SPLIT-FLOW") //
+				.split(new SimpleAsyncTaskExecutor())
+				.add(firstFlow, secondFlow)
+				.build();
+
+			return new JobBuilder("TEST-JOB", jobRepository).start(splitFlow).end().build();
+		}
+
+		private static Step step(String name, NotionDatabaseItemReader<Item> itemReader,
+				ListItemWriter<Item> itemWriter, JobRepository jobRepository,
+				PlatformTransactionManager transactionManager) {
+			return new StepBuilder(name, jobRepository) //
+				.<Item, Item>chunk(PAGE_SIZE, transactionManager) //
+				.reader(itemReader) //
+				.writer(itemWriter) //
+				.build();
+		}
+
+		@Bean
+		NotionQueryCoalescer queryCoalescer() {
+			return new NotionQueryCoalescer();
+		}
+
+		@Bean
+		NotionDatabaseItemReader<Item> firstItemReader() {
+			return itemReader();
+		}
+
+		@Bean
+		NotionDatabaseItemReader<Item> secondItemReader() {
+			return itemReader();
+		}
+
+		private NotionDatabaseItemReader<Item> itemReader() {
+			NotionDatabaseItemReader<Item> reader = new NotionDatabaseItemReader<>();
+
+			reader.setToken("token");
+			reader.setBaseUrl(wiremockBaseUrl);
+			reader.setDatabaseId(DATABASE_ID.toString());
+
+			reader.setPageSize(PAGE_SIZE);
+			reader.setPropertyMapper(new RecordPropertyMapper<>());
+			reader.setQueryCoalescer(queryCoalescer());
+
+			return reader;
+		}
+
+		@Bean
+		ListItemWriter<Item> firstItemWriter() {
+			return new ListItemWriter<>();
+		}
+
+		@Bean
+		ListItemWriter<Item> secondItemWriter() {
+			return new ListItemWriter<>();
+		}
+
+		record Item(String name, String value) {
+		}
+
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.it.incremental;
+
+import io.github.scordio.springframework.batch.extensions.notion.Filter;
+import io.github.scordio.springframework.batch.extensions.notion.NotionDatabaseItemReader;
+import io.github.scordio.springframework.batch.extensions.notion.it.IntegrationTest;
+import io.github.scordio.springframework.batch.extensions.notion.it.incremental.IncrementalReadTests.IncrementalJob.Item;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.RecordPropertyMapper;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.support.ListItemWriter;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.givenThat;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static io.github.scordio.springframework.batch.extensions.notion.Sort.Direction.ASCENDING;
+import static io.github.scordio.springframework.batch.extensions.notion.Sort.Timestamp.LAST_EDITED_TIME;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.andFilter;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.numberFilter;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.queryRequest;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.sortByTimestamp;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.timestampFilter;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.queryResponse;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.result;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.title;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.springframework.batch.core.ExitStatus.COMPLETED;
+
+@IntegrationTest
+class IncrementalReadTests {
+
+	private static final UUID DATABASE_ID = randomUUID();
+
+	private static final int PAGE_SIZE = 2;
+
+	private static final String LAST_EDITED_TIME_KEY = "NotionDatabaseItemReader.last.edited.time";
+
+	@Autowired
+	JobLauncherTestUtils launcher;
+
+	@Test
+	void should_read_items_edited_since_watermark() throws Exception {
+		// GIVEN
+		Instant watermark = Instant.parse("2024-01-01T10:00:00Z");
+		Instant first = Instant.parse("2024-01-01T10:00:00Z");
+		Instant second = Instant.parse("2024-01-02T08:30:00Z");
+		Instant third = Instant.parse("2024-01-03T12:15:00Z");
+		UUID nextCursor = randomUUID();
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(queryRequest(watermarkFilter(watermark), null, PAGE_SIZE,
+					sortByTimestamp(LAST_EDITED_TIME, ASCENDING))))
+			.willReturn(okJson(queryResponse(nextCursor, //
+					result(randomUUID(), DATABASE_ID, first, Map.of("Name", title("One"))),
+					result(randomUUID(), DATABASE_ID, second, Map.of("Name", title("Two")))))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(queryRequest(watermarkFilter(watermark), nextCursor, PAGE_SIZE,
+					sortByTimestamp(LAST_EDITED_TIME, ASCENDING))))
+			.willReturn(okJson(queryResponse( //
+					result(randomUUID(), DATABASE_ID, third, Map.of("Name", title("Three")))))));
+
+		// WHEN
+		JobExecution jobExecution = launcher
+			.launchJob(new JobParametersBuilder().addString("watermark", watermark.toString())
+				.addString("run", randomUUID().toString())
+				.toJobParameters());
+
+		// THEN
+		then(jobExecution.getExitStatus()).isEqualTo(COMPLETED);
+
+		StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+		then(stepExecution.getWriteCount()).isEqualTo(3);
+		then(stepExecution.getExecutionContext().getString(LAST_EDITED_TIME_KEY)).isEqualTo(third.toString());
+	}
+
+	@Test
+	void should_read_all_items_without_watermark() throws Exception {
+		// GIVEN
+		Instant first = Instant.parse("2023-06-01T09:00:00Z");
+		Instant second = Instant.parse("2023-06-02T09:00:00Z");
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(
+					queryRequest(scoreFilter(), null, PAGE_SIZE, sortByTimestamp(LAST_EDITED_TIME, ASCENDING))))
+			.willReturn(okJson(queryResponse( //
+					result(randomUUID(), DATABASE_ID, first, Map.of("Name", title("One"))),
+					result(randomUUID(), DATABASE_ID, second, Map.of("Name", title("Two")))))));
+
+		// WHEN
+		JobExecution jobExecution = launcher.launchJob(new JobParametersBuilder() //
+			.addString("run", randomUUID().toString())
+			.toJobParameters());
+
+		// THEN
+		then(jobExecution.getExitStatus()).isEqualTo(COMPLETED);
+
+		StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+		then(stepExecution.getWriteCount()).isEqualTo(2);
+		then(stepExecution.getExecutionContext().getString(LAST_EDITED_TIME_KEY)).isEqualTo(second.toString());
+	}
+
+	private static JSONObject watermarkFilter(Instant watermark) {
+		return andFilter( //
+				scoreFilter(), //
+				timestampFilter(LAST_EDITED_TIME, "on_or_after", watermark.toString()));
+	}
+
+	private static JSONObject scoreFilter() {
+		return numberFilter("Score", "greater_than", 0);
+	}
+
+	@SpringBootApplication
+	static class IncrementalJob {
+
+		@Value("${wiremock.server.baseUrl}")
+		private String wiremockBaseUrl;
+
+		@Bean
+		Job job(JobRepository jobRepository, Step step) {
+			return new JobBuilder("TEST-JOB", jobRepository).start(step).build();
+		}
+
+		@Bean
+		Step step(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+			return new StepBuilder("TEST-STEP", jobRepository) //
+				.<Item, Item>chunk(PAGE_SIZE, transactionManager) //
+				.reader(itemReader(null)) //
+				.writer(itemWriter()) //
+				.build();
+		}
+
+		@Bean
+		@StepScope
+		NotionDatabaseItemReader<Item> itemReader(@Value("#{jobParameters['watermark']}") String watermark) {
+			NotionDatabaseItemReader<Item> reader = new NotionDatabaseItemReader<>();
+
+			reader.setToken("token");
+			reader.setBaseUrl(wiremockBaseUrl);
+			reader.setDatabaseId(DATABASE_ID.toString());
+			reader.setFilter(Filter.where().number("Score").isGreaterThan(0));
+			reader.setIncremental(true);
+			reader.setWatermark(watermark != null ? Instant.parse(watermark) : null);
+
+			reader.setPageSize(PAGE_SIZE);
+			reader.setPropertyMapper(new RecordPropertyMapper<>());
+
+			return reader;
+		}
+
+		@Bean
+		ListItemWriter<Item> itemWriter() {
+			return new ListItemWriter<>();
+		}
+
+		record Item(String name) {
+		}
+
+	}
+
+}
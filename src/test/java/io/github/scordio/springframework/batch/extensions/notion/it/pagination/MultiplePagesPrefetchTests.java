@@ -0,0 +1,219 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.it.pagination;
+
+import io.github.scordio.springframework.batch.extensions.notion.NotionDatabaseItemReader;
+import io.github.scordio.springframework.batch.extensions.notion.it.IntegrationTest;
+import io.github.scordio.springframework.batch.extensions.notion.it.pagination.MultiplePagesPrefetchTests.PaginatedPrefetchJob.Item;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.RecordPropertyMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.support.ListItemWriter;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.findAll;
+import static com.github.tomakehurst.wiremock.client.WireMock.givenThat;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.queryRequest;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestHeaders.NOTION_VERSION;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestHeaders.NOTION_VERSION_VALUE;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.queryResponse;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.result;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.richText;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.title;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
+import static org.springframework.batch.core.ExitStatus.COMPLETED;
+import static wiremock.com.google.common.net.HttpHeaders.AUTHORIZATION;
+import static wiremock.com.google.common.net.HttpHeaders.CONTENT_TYPE;
+
+@IntegrationTest
+class MultiplePagesPrefetchTests {
+
+	private static final UUID DATABASE_ID = randomUUID();
+
+	private static final int PAGE_SIZE = 2;
+
+	@Autowired
+	JobLauncherTestUtils launcher;
+
+	@Autowired
+	ListItemWriter<Item> itemWriter;
+
+	@Value("${wiremock.server.baseUrl}")
+	String wiremockBaseUrl;
+
+	@Test
+	void should_succeed() throws Exception {
+		// GIVEN
+		UUID thirdResultId = randomUUID();
+
+		JSONObject firstResult = result(randomUUID(), DATABASE_ID,
+				Map.of("Name", title("Another name string"), "Value", richText("0987654321")));
+		JSONObject secondResult = result(randomUUID(), DATABASE_ID,
+				Map.of("Name", title("Name string"), "Value", richText("123456")));
+		JSONObject thirdResult = result(thirdResultId, DATABASE_ID,
+				Map.of("Name", title(""), "Value", richText("abc-1234")));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withHeader(AUTHORIZATION, matching("Bearer .+"))
+			.withHeader(CONTENT_TYPE, containing("application/json"))
+			.withHeader(NOTION_VERSION, equalTo(NOTION_VERSION_VALUE))
+			.withRequestBody(equalToJson(queryRequest(PAGE_SIZE)))
+			.willReturn(okJson(queryResponse(thirdResultId, firstResult, secondResult))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withHeader(AUTHORIZATION, matching("Bearer .+"))
+			.withHeader(CONTENT_TYPE, containing("application/json"))
+			.withHeader(NOTION_VERSION, equalTo(NOTION_VERSION_VALUE))
+			.withRequestBody(equalToJson(queryRequest(thirdResultId, PAGE_SIZE)))
+			.willReturn(okJson(queryResponse(thirdResult))));
+
+		// WHEN
+		JobExecution jobExecution = launcher.launchJob();
+
+		// THEN
+		then(jobExecution.getExitStatus()).isEqualTo(COMPLETED);
+
+		then(itemWriter.getWrittenItems()).asInstanceOf(LIST)
+			.containsExactly( //
+					new Item("Another name string", "0987654321"), //
+					new Item("Name string", "123456"), //
+					new Item("", "abc-1234"));
+	}
+
+	@Test
+	void should_await_prefetched_page_queries_when_closed() throws Exception {
+		// GIVEN
+		UUID thirdResultId = randomUUID();
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(queryRequest(PAGE_SIZE)))
+			.willReturn(okJson(queryResponse(thirdResultId, //
+					result(randomUUID(), DATABASE_ID, Map.of("Name", title("One"), "Value", richText("1"))),
+					result(randomUUID(), DATABASE_ID, Map.of("Name", title("Two"), "Value", richText("2")))))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(queryRequest(thirdResultId, PAGE_SIZE)))
+			.willReturn(okJson(queryResponse(
+					result(thirdResultId, DATABASE_ID, Map.of("Name", title("Three"), "Value", richText("3")))))
+				.withFixedDelay(500)));
+
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+		NotionDatabaseItemReader<Item> reader = new NotionDatabaseItemReader<>();
+		reader.setSaveState(false);
+		reader.setToken("token");
+		reader.setBaseUrl(wiremockBaseUrl);
+		reader.setDatabaseId(DATABASE_ID.toString());
+		reader.setPageSize(PAGE_SIZE);
+		reader.setPrefetchDepth(2);
+		reader.setMeterRegistry(meterRegistry);
+		reader.setPropertyMapper(new RecordPropertyMapper<>(Item.class));
+
+		reader.open(new ExecutionContext());
+		Item item = reader.read();
+
+		while (findAll(postRequestedFor(urlEqualTo("/databases/%s/query".formatted(DATABASE_ID)))
+			.withRequestBody(equalToJson(queryRequest(thirdResultId, PAGE_SIZE)))).isEmpty()) {
+			Thread.sleep(10);
+		}
+
+		// WHEN
+		reader.close();
+
+		// THEN
+		then(item).isEqualTo(new Item("One", "1"));
+
+		then(meterRegistry.get("spring.batch.notion.query").timers()) //
+			.extracting(Timer::count)
+			.containsExactly(2L);
+	}
+
+	@SpringBootApplication
+	static class PaginatedPrefetchJob {
+
+		@Value("${wiremock.server.baseUrl}")
+		private String wiremockBaseUrl;
+
+		@Bean
+		Job job(JobRepository jobRepository, Step step) {
+			return new JobBuilder("TEST-JOB", jobRepository).start(step).build();
+		}
+
+		@Bean
+		Step step(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+			return new StepBuilder("TEST-STEP", jobRepository) //
+				.<Item, Item>chunk(PAGE_SIZE, transactionManager) //
+				.reader(itemReader()) //
+				.writer(itemWriter()) //
+				.build();
+		}
+
+		@Bean
+		NotionDatabaseItemReader<Item> itemReader() {
+			NotionDatabaseItemReader<Item> reader = new NotionDatabaseItemReader<>();
+
+			reader.setSaveState(false);
+
+			reader.setToken("token");
+			reader.setBaseUrl(wiremockBaseUrl);
+			reader.setDatabaseId(DATABASE_ID.toString());
+
+			reader.setPageSize(PAGE_SIZE);
+			reader.setPrefetchDepth(2);
+			reader.setPropertyMapper(new RecordPropertyMapper<>());
+
+			return reader;
+		}
+
+		@Bean
+		ListItemWriter<Item> itemWriter() {
+			return new ListItemWriter<>();
+		}
+
+		record Item(String name, String value) {
+		}
+
+	}
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.it.partition;
+
+import io.github.scordio.springframework.batch.extensions.notion.NotionDatabaseItemReader;
+import io.github.scordio.springframework.batch.extensions.notion.NotionDatabaseTimestampPartitioner;
+import io.github.scordio.springframework.batch.extensions.notion.NotionRateLimiter;
+import io.github.scordio.springframework.batch.extensions.notion.it.IntegrationTest;
+import io.github.scordio.springframework.batch.extensions.notion.it.partition.TimestampWindowPartitionTests.PartitionedJob.Item;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.RecordPropertyMapper;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.support.ListItemWriter;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.givenThat;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static io.github.scordio.springframework.batch.extensions.notion.Sort.Direction.ASCENDING;
+import static io.github.scordio.springframework.batch.extensions.notion.Sort.Direction.DESCENDING;
+import static io.github.scordio.springframework.batch.extensions.notion.Sort.Timestamp.CREATED_TIME;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.andFilter;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.queryRequest;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.sortByTimestamp;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.timestampFilter;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.errorResponse;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.queryResponse;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.result;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.title;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
+import static org.springframework.batch.core.ExitStatus.COMPLETED;
+
+@IntegrationTest
+class TimestampWindowPartitionTests {
+
+	private static final UUID DATABASE_ID = randomUUID();
+
+	private static final int PAGE_SIZE = 2;
+
+	private static final int GRID_SIZE = 2;
+
+	@Autowired
+	JobLauncherTestUtils launcher;
+
+	@Autowired
+	ListItemWriter<Item> itemWriter;
+
+	@AfterEach
+	void tearDown() {
+		itemWriter.getWrittenItems().clear();
+	}
+
+	@Test
+	void should_succeed() throws Exception {
+		// GIVEN
+		Instant first = Instant.parse("2024-01-01T00:00:00Z");
+		Instant second = Instant.parse("2024-01-01T00:01:00Z");
+		Instant middle = Instant.parse("2024-01-01T00:05:30Z");
+		Instant last = Instant.parse("2024-01-01T00:10:00Z");
+		Instant end = Instant.parse("2024-01-01T00:11:00Z");
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(queryRequest(null, null, 1, sortByTimestamp(CREATED_TIME, ASCENDING))))
+			.willReturn(okJson(queryResponse(randomUUID(), result(randomUUID(), DATABASE_ID, first, Map.of())))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(queryRequest(null, null, 1, sortByTimestamp(CREATED_TIME, DESCENDING))))
+			.willReturn(okJson(queryResponse(randomUUID(), result(randomUUID(), DATABASE_ID, last, Map.of())))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(
+					queryRequest(windowFilter(first, end), null, 100, sortByTimestamp(CREATED_TIME, ASCENDING))))
+			.willReturn(okJson(queryResponse(randomUUID(), //
+					result(randomUUID(), DATABASE_ID, first, Map.of()),
+					result(randomUUID(), DATABASE_ID, second, Map.of())))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(
+					queryRequest(windowFilter(first, middle), null, 100, sortByTimestamp(CREATED_TIME, ASCENDING))))
+			.willReturn(okJson(queryResponse( //
+					result(randomUUID(), DATABASE_ID, first, Map.of()),
+					result(randomUUID(), DATABASE_ID, second, Map.of())))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(
+					queryRequest(windowFilter(middle, end), null, 100, sortByTimestamp(CREATED_TIME, ASCENDING))))
+			.willReturn(okJson(queryResponse(result(randomUUID(), DATABASE_ID, last, Map.of())))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(queryRequest(windowFilter(first, middle), null, PAGE_SIZE)))
+			.willReturn(okJson(queryResponse( //
+					result(randomUUID(), DATABASE_ID, first, Map.of("Name", title("One"))),
+					result(randomUUID(), DATABASE_ID, second, Map.of("Name", title("Two")))))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(
+					queryRequest(timestampFilter(CREATED_TIME, "on_or_after", middle.toString()), null, PAGE_SIZE)))
+			.willReturn(okJson(queryResponse( //
+					result(randomUUID(), DATABASE_ID, last, Map.of("Name", title("Three")))))));
+
+		// WHEN
+		JobExecution jobExecution = launcher.launchJob();
+
+		// THEN
+		then(jobExecution.getExitStatus()).isEqualTo(COMPLETED);
+
+		then(itemWriter.getWrittenItems()).asInstanceOf(LIST)
+			.containsExactlyInAnyOrder( //
+					new Item("One"), //
+					new Item("Two"), //
+					new Item("Three"));
+	}
+
+	@Test
+	void should_retry_rate_limited_and_transient_boundary_queries() throws Exception {
+		// GIVEN
+		Instant first = Instant.parse("2024-01-01T00:00:00Z");
+		Instant end = Instant.parse("2024-01-01T00:01:00Z");
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.inScenario("Boundary failures")
+			.whenScenarioStateIs(STARTED)
+			.withRequestBody(equalToJson(queryRequest(null, null, 1, sortByTimestamp(CREATED_TIME, ASCENDING))))
+			.willReturn(aResponse().withStatus(429)
+				.withHeader("Content-Type", "application/json")
+				.withHeader("Retry-After", "1")
+				.withBody(errorResponse(429, "rate_limited", "Rate limited")))
+			.willSetStateTo("Rate limited"));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.inScenario("Boundary failures")
+			.whenScenarioStateIs("Rate limited")
+			.withRequestBody(equalToJson(queryRequest(null, null, 1, sortByTimestamp(CREATED_TIME, ASCENDING))))
+			.willReturn(aResponse().withStatus(503)
+				.withHeader("Content-Type", "text/html")
+				.withBody("<html><body><h1>503 Service Temporarily Unavailable</h1></body></html>"))
+			.willSetStateTo("Recovered"));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.inScenario("Boundary failures")
+			.whenScenarioStateIs("Recovered")
+			.withRequestBody(equalToJson(queryRequest(null, null, 1, sortByTimestamp(CREATED_TIME, ASCENDING))))
+			.willReturn(okJson(queryResponse(randomUUID(), result(randomUUID(), DATABASE_ID, first, Map.of())))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(queryRequest(null, null, 1, sortByTimestamp(CREATED_TIME, DESCENDING))))
+			.willReturn(okJson(queryResponse(randomUUID(), result(randomUUID(), DATABASE_ID, first, Map.of())))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(
+					queryRequest(windowFilter(first, end), null, 100, sortByTimestamp(CREATED_TIME, ASCENDING))))
+			.willReturn(okJson(queryResponse(result(randomUUID(), DATABASE_ID, first, Map.of())))));
+
+		givenThat(post("/databases/%s/query".formatted(DATABASE_ID)) //
+			.withRequestBody(equalToJson(
+					queryRequest(timestampFilter(CREATED_TIME, "on_or_after", first.toString()), null, PAGE_SIZE)))
+			.willReturn(okJson(queryResponse( //
+					result(randomUUID(), DATABASE_ID, first, Map.of("Name", title("One")))))));
+
+		// WHEN
+		JobExecution jobExecution = launcher.launchJob();
+
+		// THEN
+		then(jobExecution.getExitStatus()).isEqualTo(COMPLETED);
+
+		then(itemWriter.getWrittenItems()).asInstanceOf(LIST).containsExactly(new Item("One"));
+
+		verify(3, postRequestedFor(urlEqualTo("/databases/%s/query".formatted(DATABASE_ID))) //
+			.withRequestBody(equalToJson(queryRequest(null, null, 1, sortByTimestamp(CREATED_TIME, ASCENDING)))));
+	}
+
+	private static JSONObject windowFilter(Instant startTime, Instant endTime) {
+		return andFilter( //
+				timestampFilter(CREATED_TIME, "on_or_after", startTime.toString()),
+				timestampFilter(CREATED_TIME, "before", endTime.toString()));
+	}
+
+	@SpringBootApplication
+	static class PartitionedJob {
+
+		@Value("${wiremock.server.baseUrl}")
+		private String wiremockBaseUrl;
+
+		@Bean
+		Job job(JobRepository jobRepository, Step managerStep) {
+			return new JobBuilder("TEST-JOB", jobRepository).start(managerStep).build();
+		}
+
+		@Bean
+		Step managerStep(JobRepository jobRepository, Step workerStep) {
+			return new StepBuilder("TEST-MANAGER-STEP", jobRepository) //
+				.partitioner("TEST-WORKER-STEP", partitioner()) //
+				.step(workerStep) //
+				.gridSize(GRID_SIZE) //
+				.build();
+		}
+
+		@Bean
+		Step workerStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+			return new StepBuilder("TEST-WORKER-STEP", jobRepository) //
+				.<Item, Item>chunk(PAGE_SIZE, transactionManager) //
+				.reader(itemReader(null, null)) //
+				.writer(itemWriter()) //
+				.build();
+		}
+
+		@Bean
+		NotionDatabaseTimestampPartitioner partitioner() {
+			NotionDatabaseTimestampPartitioner partitioner = new NotionDatabaseTimestampPartitioner();
+
+			partitioner.setToken("token");
+			partitioner.setBaseUrl(wiremockBaseUrl);
+			partitioner.setDatabaseId(DATABASE_ID.toString());
+			partitioner.setRateLimiter(new NotionRateLimiter());
+
+			return partitioner;
+		}
+
+		@Bean
+		@StepScope
+		NotionDatabaseItemReader<Item> itemReader(@Value("#{stepExecutionContext['startTime']}") String startTime,
+				@Value("#{stepExecutionContext['endTime']}") String endTime) {
+			NotionDatabaseItemReader<Item> reader = new NotionDatabaseItemReader<>();
+
+			reader.setToken("token");
+			reader.setBaseUrl(wiremockBaseUrl);
+			reader.setDatabaseId(DATABASE_ID.toString());
+			reader.setFilter(NotionDatabaseTimestampPartitioner.rangeFilter(CREATED_TIME, Instant.parse(startTime),
+					endTime != null ? Instant.parse(endTime) : null));
+
+			reader.setPageSize(PAGE_SIZE);
+			reader.setPropertyMapper(new RecordPropertyMapper<>());
+
+			return reader;
+		}
+
+		@Bean
+		ListItemWriter<Item> itemWriter() {
+			return new ListItemWriter<>();
+		}
+
+		record Item(String name) {
+		}
+
+	}
+
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.it.writer;
+
+import com.github.tomakehurst.wiremock.http.Fault;
+import io.github.scordio.springframework.batch.extensions.notion.NotionDatabaseItemWriter;
+import io.github.scordio.springframework.batch.extensions.notion.it.IntegrationTest;
+import io.github.scordio.springframework.batch.extensions.notion.it.writer.PageCreationTests.WritingJob.InFlightTrackingExecutor;
+import io.github.scordio.springframework.batch.extensions.notion.it.writer.PageCreationTests.WritingJob.Item;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.RecordPropertyExtractor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.givenThat;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.createPageRequest;
+import static io.github.scordio.springframework.batch.extensions.notion.it.RequestBodies.textValue;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.databaseProperty;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.databaseResponse;
+import static io.github.scordio.springframework.batch.extensions.notion.it.ResponseBodies.errorResponse;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.InstanceOfAssertFactories.THROWABLE;
+import static org.springframework.batch.core.ExitStatus.COMPLETED;
+import static org.springframework.batch.core.ExitStatus.FAILED;
+
+@IntegrationTest
+class PageCreationTests {
+
+	private static final UUID DATABASE_ID = randomUUID();
+
+	private static final int CHUNK_SIZE = 4;
+
+	private static final List<Item> ITEMS = List.of( //
+			new Item("A", "1"), //
+			new Item("B", "2"), //
+			new Item("C", "3"), //
+			new Item("D", "4"));
+
+	@Autowired
+	JobLauncherTestUtils launcher;
+
+	@Autowired
+	InFlightTrackingExecutor executor;
+
+	@AfterEach
+	void tearDown() {
+		executor.reset();
+	}
+
+	@Test
+	void should_create_pages_concurrently() throws Exception {
+		// GIVEN
+		givenThat(get("/databases/%s".formatted(DATABASE_ID)) //
+			.willReturn(okJson(databaseResponse(DATABASE_ID, Map.of("Name", databaseProperty("title", "Name", "title"), //
+					"Value", databaseProperty("%3AUPp", "Value", "rich_text"))))));
+
+		givenThat(post("/pages").willReturn(okJson("{}").withFixedDelay(1000)));
+
+		// WHEN
+		JobExecution jobExecution = launcher.launchJob();
+
+		// THEN
+		then(jobExecution.getExitStatus()).isEqualTo(COMPLETED);
+		then(executor.getMaxInFlight()).isGreaterThan(1).isLessThanOrEqualTo(CHUNK_SIZE);
+
+		for (Item item : ITEMS) {
+			verify(1, postRequestedFor(urlEqualTo("/pages")) //
+				.withRequestBody(
+						equalToJson(createPageRequest(DATABASE_ID, Map.of("Name", textValue("title", item.name()), //
+								"Value", textValue("rich_text", item.value()))))));
+		}
+	}
+
+	@Test
+	void should_fail_when_page_creation_fails() throws Exception {
+		// GIVEN
+		givenThat(get("/databases/%s".formatted(DATABASE_ID)) //
+			.willReturn(okJson(databaseResponse(DATABASE_ID, Map.of("Name", databaseProperty("title", "Name", "title"), //
+					"Value", databaseProperty("%3AUPp", "Value", "rich_text"))))));
+
+		givenThat(post("/pages").willReturn(aResponse().withStatus(400)
+			.withHeader("Content-Type", "application/json")
+			.withBody(errorResponse(400, "validation_error", "Invalid property"))));
+
+		// WHEN
+		JobExecution jobExecution = launcher.launchJob();
+
+		// THEN
+		then(jobExecution.getExitStatus().getExitCode()).isEqualTo(FAILED.getExitCode());
+		then(jobExecution.getAllFailureExceptions()).singleElement()
+			.satisfies(e -> then(e).hasMessageContaining("Invalid property"));
+	}
+
+	@Test
+	void should_fail_when_connection_fails() throws Exception {
+		// GIVEN
+		givenThat(get("/databases/%s".formatted(DATABASE_ID)) //
+			.willReturn(okJson(databaseResponse(DATABASE_ID, Map.of("Name", databaseProperty("title", "Name", "title"), //
+					"Value", databaseProperty("%3AUPp", "Value", "rich_text"))))));
+
+		givenThat(post("/pages").willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+		// WHEN
+		JobExecution jobExecution = launcher.launchJob();
+
+		// THEN
+		then(jobExecution.getExitStatus().getExitCode()).isEqualTo(FAILED.getExitCode());
+		then(jobExecution.getAllFailureExceptions()).singleElement(THROWABLE)
+			.isInstanceOf(UncheckedIOException.class)
+			.hasCauseInstanceOf(IOException.class);
+	}
+
+	@SpringBootApplication
+	static class WritingJob {
+
+		@Value("${wiremock.server.baseUrl}")
+		private String wiremockBaseUrl;
+
+		@Bean
+		Job job(JobRepository jobRepository, Step step) {
+			return new JobBuilder("TEST-JOB", jobRepository).start(step).build();
+		}
+
+		@Bean
+		Step step(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+			return new StepBuilder("TEST-STEP", jobRepository) //
+				.<Item, Item>chunk(CHUNK_SIZE, transactionManager) //
+				.reader(itemReader()) //
+				.writer(itemWriter()) //
+				.build();
+		}
+
+		@Bean
+		@StepScope
+		ListItemReader<Item> itemReader() {
+			return new ListItemReader<>(ITEMS);
+		}
+
+		@Bean
+		NotionDatabaseItemWriter<Item> itemWriter() {
+			NotionDatabaseItemWriter<Item> writer = new NotionDatabaseItemWriter<>();
+
+			writer.setToken("token");
+			writer.setBaseUrl(wiremockBaseUrl);
+			writer.setDatabaseId(DATABASE_ID.toString());
+
+			writer.setPropertyExtractor(new RecordPropertyExtractor<>());
+			writer.setMaxInFlight(CHUNK_SIZE);
+			writer.setExecutor(executor());
+
+			return writer;
+		}
+
+		@Bean
+		InFlightTrackingExecutor executor() {
+			return new InFlightTrackingExecutor();
+		}
+
+		record Item(String name, String value) {
+		}
+
+		static class InFlightTrackingExecutor implements Executor, DisposableBean {
+
+			private final ExecutorService delegate = Executors.newCachedThreadPool();
+
+			private final AtomicInteger inFlight = new AtomicInteger();
+
+			private final AtomicInteger maxInFlight = new AtomicInteger();
+
+			@Override
+			public void execute(Runnable task) {
+				delegate.execute(() -> {
+					maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+					try {
+						task.run();
+					}
+					finally {
+						inFlight.decrementAndGet();
+					}
+				});
+			}
+
+			int getMaxInFlight() {
+				return maxInFlight.get();
+			}
+
+			void reset() {
+				maxInFlight.set(0);
+			}
+
+			@Override
+			public void destroy() {
+				delegate.shutdownNow();
+			}
+
+		}
+
+	}
+
+}
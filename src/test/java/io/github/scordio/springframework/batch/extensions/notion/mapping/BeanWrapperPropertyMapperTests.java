@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.BDDAssertions.catchThrowable;
 import static org.assertj.core.api.BDDAssertions.from;
@@ -30,7 +31,7 @@ class BeanWrapperPropertyMapperTests {
 
 	@ParameterizedTest
 	@AllPropertiesSource
-	void should_map_all_properties(Map<String, String> properties) {
+	void should_map_all_properties(Map<String, Object> properties) {
 		// GIVEN
 		PropertyMapper<TestBean> underTest = new BeanWrapperPropertyMapper<>(TestBean.class);
 		// WHEN
@@ -43,7 +44,7 @@ class BeanWrapperPropertyMapperTests {
 
 	@ParameterizedTest
 	@PartialPropertiesSource
-	void should_map_partial_properties(Map<String, String> properties) {
+	void should_map_partial_properties(Map<String, Object> properties) {
 		// GIVEN
 		PropertyMapper<TestBean> underTest = new BeanWrapperPropertyMapper<>(TestBean.class);
 		// WHEN
@@ -56,7 +57,7 @@ class BeanWrapperPropertyMapperTests {
 
 	@ParameterizedTest
 	@AllPropertiesSource
-	void should_map_all_properties_without_type_parameter(Map<String, String> properties) {
+	void should_map_all_properties_without_type_parameter(Map<String, Object> properties) {
 		// GIVEN
 		PropertyMapper<TestBean> underTest = new BeanWrapperPropertyMapper<>();
 		// WHEN
@@ -77,6 +78,64 @@ class BeanWrapperPropertyMapperTests {
 			.hasMessage("Please don't pass any values here. The type will be detected automagically.");
 	}
 
+	@Test
+	void should_map_items_with_different_keys() {
+		// GIVEN
+		PropertyMapper<TestBean> underTest = new BeanWrapperPropertyMapper<>(TestBean.class);
+		// WHEN
+		TestBean first = underTest.map(Map.of("FIELD1", "Value1", "FIELD2", "Value2"));
+		TestBean second = underTest.map(Map.of("field2", "Value3"));
+		// THEN
+		then(first) //
+			.returns("Value1", from(TestBean::getField1)) //
+			.returns("Value2", from(TestBean::getField2));
+		then(second) //
+			.returns(null, from(TestBean::getField1)) //
+			.returns("Value3", from(TestBean::getField2));
+	}
+
+	@Test
+	void should_return_property_names() {
+		// GIVEN
+		PropertyMapper<TestBean> underTest = new BeanWrapperPropertyMapper<>(TestBean.class);
+		// WHEN
+		Set<String> result = underTest.getPropertyNames();
+		// THEN
+		then(result).containsExactlyInAnyOrder("field1", "field2");
+	}
+
+	@Test
+	void should_ignore_unknown_properties() {
+		// GIVEN
+		PropertyMapper<TestBean> underTest = new BeanWrapperPropertyMapper<>(TestBean.class);
+		// WHEN
+		TestBean result = underTest.map(Map.of("field1", "Value1", "unknown", "Value"));
+		// THEN
+		then(result) //
+			.returns("Value1", from(TestBean::getField1)) //
+			.returns(null, from(TestBean::getField2));
+	}
+
+	@Test
+	void should_convert_property_values() {
+		// GIVEN
+		PropertyMapper<NumericBean> underTest = new BeanWrapperPropertyMapper<>(NumericBean.class);
+		// WHEN
+		NumericBean result = underTest.map(Map.of("count", "42"));
+		// THEN
+		then(result.getCount()).isEqualTo(42);
+	}
+
+	@Test
+	void should_unbox_typed_property_values() {
+		// GIVEN
+		PropertyMapper<NumericBean> underTest = new BeanWrapperPropertyMapper<>(NumericBean.class);
+		// WHEN
+		NumericBean result = underTest.map(Map.of("count", 42.0));
+		// THEN
+		then(result.getCount()).isEqualTo(42);
+	}
+
 	private static class TestBean {
 
 		private String field1;
@@ -103,4 +162,19 @@ class BeanWrapperPropertyMapperTests {
 
 	}
 
+	private static class NumericBean {
+
+		private int count;
+
+		public int getCount() {
+			return count;
+		}
+
+		@SuppressWarnings("unused")
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+	}
+
 }
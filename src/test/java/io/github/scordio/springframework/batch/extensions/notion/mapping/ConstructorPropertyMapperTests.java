@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.BDDAssertions.catchThrowable;
 import static org.assertj.core.api.BDDAssertions.from;
@@ -37,7 +38,7 @@ class ConstructorPropertyMapperTests {
 
 		@ParameterizedTest
 		@AllPropertiesSource
-		void should_map_all_properties(Map<String, String> properties) {
+		void should_map_all_properties(Map<String, Object> properties) {
 			// GIVEN
 			PropertyMapper<TestRecord> underTest = new ConstructorPropertyMapper<>(TestRecord.class);
 			// WHEN
@@ -50,7 +51,7 @@ class ConstructorPropertyMapperTests {
 
 		@ParameterizedTest
 		@AllPropertiesSource
-		void should_map_all_properties_without_type_parameter(Map<String, String> properties) {
+		void should_map_all_properties_without_type_parameter(Map<String, Object> properties) {
 			// GIVEN
 			PropertyMapper<TestRecord> underTest = new ConstructorPropertyMapper<>();
 			// WHEN
@@ -73,7 +74,7 @@ class ConstructorPropertyMapperTests {
 
 		@ParameterizedTest
 		@PartialPropertiesSource
-		void should_map_partial_properties(Map<String, String> properties) {
+		void should_map_partial_properties(Map<String, Object> properties) {
 			// GIVEN
 			PropertyMapper<TestRecord> underTest = new ConstructorPropertyMapper<>(TestRecord.class);
 			// WHEN
@@ -84,6 +85,16 @@ class ConstructorPropertyMapperTests {
 				.returns(null, from(TestRecord::field2));
 		}
 
+		@Test
+		void should_return_property_names() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new ConstructorPropertyMapper<>(TestRecord.class);
+			// WHEN
+			Set<String> result = underTest.getPropertyNames();
+			// THEN
+			then(result).containsExactlyInAnyOrder("field1", "field2");
+		}
+
 	}
 
 	@Nested
@@ -0,0 +1,380 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.mapping;
+
+import io.github.scordio.springframework.batch.extensions.notion.mapping.TestData.AllPropertiesSource;
+import io.github.scordio.springframework.batch.extensions.notion.mapping.TestData.PartialPropertiesSource;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.from;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class GeneratedPropertyMapperTests {
+
+	@Nested
+	class using_record {
+
+		@GeneratePropertyMapper
+		record TestRecord(String field1, String field2) {
+		}
+
+		@ParameterizedTest
+		@AllPropertiesSource
+		void should_map_all_properties(Map<String, Object> properties) {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new GeneratedPropertyMapperTests_using_record_TestRecordPropertyMapper();
+			// WHEN
+			TestRecord result = underTest.map(properties);
+			// THEN
+			then(result) //
+				.returns("Value1", from(TestRecord::field1)) //
+				.returns("Value2", from(TestRecord::field2));
+		}
+
+		@ParameterizedTest
+		@PartialPropertiesSource
+		void should_map_partial_properties(Map<String, Object> properties) {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new GeneratedPropertyMapperTests_using_record_TestRecordPropertyMapper();
+			// WHEN
+			TestRecord result = underTest.map(properties);
+			// THEN
+			then(result) //
+				.returns("Value1", from(TestRecord::field1)) //
+				.returns(null, from(TestRecord::field2));
+		}
+
+		@Test
+		void should_ignore_unknown_properties() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new GeneratedPropertyMapperTests_using_record_TestRecordPropertyMapper();
+			// WHEN
+			TestRecord result = underTest.map(Map.of("field1", "Value1", "unknown", "Value"));
+			// THEN
+			then(result).isEqualTo(new TestRecord("Value1", null));
+		}
+
+		@Test
+		void should_return_property_names() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new GeneratedPropertyMapperTests_using_record_TestRecordPropertyMapper();
+			// WHEN
+			Iterable<String> result = underTest.getPropertyNames();
+			// THEN
+			then(result).containsExactlyInAnyOrder("field1", "field2");
+		}
+
+	}
+
+	@Nested
+	class using_record_with_typed_components {
+
+		@GeneratePropertyMapper
+		record TestRecord(String name, int count, Long total, Double ratio, boolean done, LocalDate day,
+				List<String> tags) {
+		}
+
+		@Test
+		void should_map_typed_properties() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new GeneratedPropertyMapperTests_using_record_with_typed_components_TestRecordPropertyMapper();
+			Map<String, Object> properties = Map.of("Name", "Value", "Count", 42.0, "Total", 7L, "Ratio", 0.5, "Done",
+					true, "Day", LocalDate.of(2024, 10, 1), "Tags", List.of("First", "Second"));
+			// WHEN
+			TestRecord result = underTest.map(properties);
+			// THEN
+			then(result).isEqualTo(
+					new TestRecord("Value", 42, 7L, 0.5, true, LocalDate.of(2024, 10, 1), List.of("First", "Second")));
+		}
+
+		@Test
+		void should_use_default_values_for_missing_primitives() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new GeneratedPropertyMapperTests_using_record_with_typed_components_TestRecordPropertyMapper();
+			// WHEN
+			TestRecord result = underTest.map(Map.of("Name", "Value"));
+			// THEN
+			then(result).isEqualTo(new TestRecord("Value", 0, null, null, false, null, null));
+		}
+
+	}
+
+	@Nested
+	class using_record_with_converted_components {
+
+		enum Level {
+
+			LOW, HIGH
+
+		}
+
+		@GeneratePropertyMapper
+		record TestRecord(boolean done, int count, Level level, Instant time) {
+		}
+
+		@Test
+		void should_convert_property_values() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new GeneratedPropertyMapperTests_using_record_with_converted_components_TestRecordPropertyMapper();
+			Map<String, Object> properties = Map.of("Done", "true", "Count", "42", "Level", "HIGH", "Time",
+					OffsetDateTime.parse("2024-10-01T12:00:00+02:00"));
+			// WHEN
+			TestRecord result = underTest.map(properties);
+			// THEN
+			then(result).isEqualTo(new TestRecord(true, 42, Level.HIGH, Instant.parse("2024-10-01T10:00:00Z")));
+		}
+
+		@Test
+		void should_map_like_reflective_mapper() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new GeneratedPropertyMapperTests_using_record_with_converted_components_TestRecordPropertyMapper();
+			Map<String, Object> properties = Map.of("Done", "true", "Count", 42.0, "Level", "LOW", "Time",
+					OffsetDateTime.parse("2024-10-01T12:00:00+02:00"));
+			// WHEN
+			TestRecord result = underTest.map(properties);
+			// THEN
+			then(result).isEqualTo(new RecordPropertyMapper<>(TestRecord.class).map(properties));
+		}
+
+	}
+
+	@Nested
+	class using_bean {
+
+		@GeneratePropertyMapper
+		static class TestBean {
+
+			private String field1;
+
+			private String field2 = "Default";
+
+			public String getField1() {
+				return field1;
+			}
+
+			public void setField1(String field1) {
+				this.field1 = field1;
+			}
+
+			public String getField2() {
+				return field2;
+			}
+
+			public void setField2(String field2) {
+				this.field2 = field2;
+			}
+
+		}
+
+		@GeneratePropertyMapper
+		static class PrimitiveBean {
+
+			private int count = -1;
+
+			private boolean done;
+
+			public int getCount() {
+				return count;
+			}
+
+			public void setCount(int count) {
+				this.count = count;
+			}
+
+			public boolean isDone() {
+				return done;
+			}
+
+			public void setDone(boolean done) {
+				this.done = done;
+			}
+
+		}
+
+		@ParameterizedTest
+		@AllPropertiesSource
+		void should_map_all_properties(Map<String, Object> properties) {
+			// GIVEN
+			PropertyMapper<TestBean> underTest = new GeneratedPropertyMapperTests_using_bean_TestBeanPropertyMapper();
+			// WHEN
+			TestBean result = underTest.map(properties);
+			// THEN
+			then(result) //
+				.returns("Value1", from(TestBean::getField1)) //
+				.returns("Value2", from(TestBean::getField2));
+		}
+
+		@ParameterizedTest
+		@PartialPropertiesSource
+		void should_map_partial_properties(Map<String, Object> properties) {
+			// GIVEN
+			PropertyMapper<TestBean> underTest = new GeneratedPropertyMapperTests_using_bean_TestBeanPropertyMapper();
+			// WHEN
+			TestBean result = underTest.map(properties);
+			// THEN
+			then(result) //
+				.returns("Value1", from(TestBean::getField1)) //
+				.returns("Default", from(TestBean::getField2));
+		}
+
+		@Test
+		void should_skip_primitive_setters_for_null_values() {
+			// GIVEN
+			PropertyMapper<PrimitiveBean> underTest = new GeneratedPropertyMapperTests_using_bean_PrimitiveBeanPropertyMapper();
+			Map<String, Object> properties = new HashMap<>();
+			properties.put("count", null);
+			properties.put("done", "true");
+			// WHEN
+			PrimitiveBean result = underTest.map(properties);
+			// THEN
+			then(result) //
+				.returns(-1, from(PrimitiveBean::getCount)) //
+				.returns(true, from(PrimitiveBean::isDone));
+		}
+
+		@Test
+		void should_return_property_names() {
+			// GIVEN
+			PropertyMapper<TestBean> underTest = new GeneratedPropertyMapperTests_using_bean_TestBeanPropertyMapper();
+			// WHEN
+			Iterable<String> result = underTest.getPropertyNames();
+			// THEN
+			then(result).containsExactlyInAnyOrder("field1", "field2");
+		}
+
+	}
+
+	@Nested
+	class using_bean_with_overloaded_setters {
+
+		@GeneratePropertyMapper
+		static class OverloadedBean {
+
+			private int value;
+
+			public int getValue() {
+				return value;
+			}
+
+			public void setValue(String value) {
+				this.value = Integer.parseInt(value) * 10;
+			}
+
+			public void setValue(int value) {
+				this.value = value;
+			}
+
+		}
+
+		@Test
+		void should_use_setter_matching_getter_type() {
+			// GIVEN
+			PropertyMapper<OverloadedBean> underTest = new GeneratedPropertyMapperTests_using_bean_with_overloaded_setters_OverloadedBeanPropertyMapper();
+			// WHEN
+			OverloadedBean result = underTest.map(Map.of("Value", "42"));
+			// THEN
+			then(result.getValue()).isEqualTo(42);
+		}
+
+		@Test
+		void should_map_like_reflective_mapper() {
+			// GIVEN
+			PropertyMapper<OverloadedBean> underTest = new GeneratedPropertyMapperTests_using_bean_with_overloaded_setters_OverloadedBeanPropertyMapper();
+			Map<String, Object> properties = Map.of("Value", 42.0);
+			// WHEN
+			OverloadedBean result = underTest.map(properties);
+			// THEN
+			then(result.getValue())
+				.isEqualTo(new BeanWrapperPropertyMapper<>(OverloadedBean.class).map(properties).getValue());
+		}
+
+	}
+
+	@Nested
+	class using_array_properties {
+
+		@GeneratePropertyMapper
+		record TestRecord(String[] tags, int[] scores) {
+		}
+
+		@Test
+		void should_map_array_properties() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new GeneratedPropertyMapperTests_using_array_properties_TestRecordPropertyMapper();
+			Map<String, Object> properties = Map.of("Tags", List.of("First", "Second"), "Scores", "1,2");
+			// WHEN
+			TestRecord result = underTest.map(properties);
+			// THEN
+			then(result.tags()).containsExactly("First", "Second");
+			then(result.scores()).containsExactly(1, 2);
+		}
+
+	}
+
+	@Nested
+	class using_type_variable_properties {
+
+		@GeneratePropertyMapper
+		static class GenericBean<T extends Number> {
+
+			private T value;
+
+			public T getValue() {
+				return value;
+			}
+
+			public void setValue(T value) {
+				this.value = value;
+			}
+
+		}
+
+		@GeneratePropertyMapper
+		record GenericRecord<T>(T value) {
+		}
+
+		@Test
+		void should_map_bean_type_variable_by_erasure() {
+			// GIVEN
+			GeneratedPropertyMapperTests_using_type_variable_properties_GenericBeanPropertyMapper underTest = new GeneratedPropertyMapperTests_using_type_variable_properties_GenericBeanPropertyMapper();
+			// WHEN
+			GenericBean<?> result = underTest.map(Map.of("Value", 42.0));
+			// THEN
+			then(result.getValue()).isEqualTo(42.0);
+		}
+
+		@Test
+		void should_map_record_type_variable_by_erasure() {
+			// GIVEN
+			GeneratedPropertyMapperTests_using_type_variable_properties_GenericRecordPropertyMapper underTest = new GeneratedPropertyMapperTests_using_type_variable_properties_GenericRecordPropertyMapper();
+			// WHEN
+			GenericRecord<?> result = underTest.map(Map.of("Value", List.of("First")));
+			// THEN
+			then(result.value()).isEqualTo(List.of("First"));
+		}
+
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.mapping;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.convert.ConversionService;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PropertyMapperProcessorTests {
+
+	@TempDir
+	Path outputDir;
+
+	@Test
+	void should_fail_with_ambiguous_overloaded_setters() {
+		// GIVEN
+		String source = """
+				@io.github.scordio.springframework.batch.extensions.notion.mapping.GeneratePropertyMapper
+				public class Item {
+					public void setValue(String value) {
+					}
+					public void setValue(int value) {
+					}
+				}
+				""";
+		// WHEN
+		List<Diagnostic<? extends JavaFileObject>> result = compile("Item", source);
+		// THEN
+		then(result).singleElement()
+			.returns(Diagnostic.Kind.ERROR, Diagnostic::getKind)
+			.extracting(diagnostic -> diagnostic.getMessage(null))
+			.isEqualTo(
+					"Overloaded setters for property 'value' must be disambiguated by a getter returning the type of one of them");
+	}
+
+	@Test
+	void should_accept_array_and_type_variable_setter_parameters() {
+		// GIVEN
+		String source = """
+				@io.github.scordio.springframework.batch.extensions.notion.mapping.GeneratePropertyMapper
+				public class Item {
+					public void setValues(java.util.List<?>... values) {
+					}
+					public <T> void setValue(T value) {
+					}
+				}
+				""";
+		// WHEN
+		List<Diagnostic<? extends JavaFileObject>> result = compile("Item", source);
+		// THEN
+		then(result).isEmpty();
+	}
+
+	private List<Diagnostic<? extends JavaFileObject>> compile(String className, String source) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		String classPath = Stream.of(GeneratePropertyMapper.class, ConversionService.class)
+			.map(type -> type.getProtectionDomain().getCodeSource().getLocation().getPath())
+			.collect(Collectors.joining(File.pathSeparator));
+		JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className + ".java"),
+				JavaFileObject.Kind.SOURCE) {
+
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return source;
+			}
+
+		};
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+				List.of("-classpath", classPath, "-d", outputDir.toString(), "-s", outputDir.toString()), null,
+				List.of(file));
+		task.setProcessors(List.of(new PropertyMapperProcessor()));
+		task.call();
+		return diagnostics.getDiagnostics();
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.mapping;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PropertyMapperTests {
+
+	private record TestRecord(String name, String count, String tags) {
+	}
+
+	@Test
+	void should_adapt_string_mapping_function() {
+		// GIVEN
+		PropertyMapper<TestRecord> underTest = PropertyMapper.ofStrings(
+				properties -> new TestRecord(properties.get("Name"), properties.get("Count"), properties.get("Tags")));
+		// WHEN
+		TestRecord result = underTest.map(Map.of("Name", "Value", "Count", 42.0, "Tags", List.of("First", "Second")));
+		// THEN
+		then(result).isEqualTo(new TestRecord("Value", "42.0", "First,Second"));
+	}
+
+	@Test
+	void should_adapt_null_values() {
+		// GIVEN
+		PropertyMapper<TestRecord> underTest = PropertyMapper.ofStrings(
+				properties -> new TestRecord(properties.get("Name"), properties.get("Count"), properties.get("Tags")));
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("Name", "Value");
+		properties.put("Count", null);
+		// WHEN
+		TestRecord result = underTest.map(properties);
+		// THEN
+		then(result).isEqualTo(new TestRecord("Value", null, null));
+	}
+
+}
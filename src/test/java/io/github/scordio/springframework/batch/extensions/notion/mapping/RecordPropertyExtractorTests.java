@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2024 Stefano Cordio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.scordio.springframework.batch.extensions.notion.mapping;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class RecordPropertyExtractorTests {
+
+	private record TestRecord(String field1, Double field2, LocalDate field3, List<String> field4) {
+	}
+
+	@Test
+	void should_extract_all_properties() {
+		// GIVEN
+		PropertyExtractor<TestRecord> underTest = new RecordPropertyExtractor<>(TestRecord.class);
+		LocalDate date = LocalDate.of(2024, 1, 1);
+		// WHEN
+		Map<String, Object> result = underTest.extract(new TestRecord("Value1", 2.0, date, List.of("A", "B")));
+		// THEN
+		then(result).containsExactly( //
+				Map.entry("field1", "Value1"), //
+				Map.entry("field2", 2.0), //
+				Map.entry("field3", date), //
+				Map.entry("field4", List.of("A", "B")));
+	}
+
+	@Test
+	void should_extract_all_properties_without_type_parameter() {
+		// GIVEN
+		PropertyExtractor<TestRecord> underTest = new RecordPropertyExtractor<>();
+		// WHEN
+		Map<String, Object> result = underTest.extract(new TestRecord("Value1", 2.0, null, List.of()));
+		// THEN
+		then(result).containsEntry("field1", "Value1").containsEntry("field2", 2.0);
+	}
+
+	@Test
+	void should_extract_null_values() {
+		// GIVEN
+		PropertyExtractor<TestRecord> underTest = new RecordPropertyExtractor<>(TestRecord.class);
+		// WHEN
+		Map<String, Object> result = underTest.extract(new TestRecord(null, null, null, null));
+		// THEN
+		then(result).hasSize(4).containsEntry("field1", null).containsEntry("field4", null);
+	}
+
+}
@@ -21,7 +21,10 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.BDDAssertions.catchThrowable;
 import static org.assertj.core.api.BDDAssertions.from;
@@ -37,7 +40,7 @@ class RecordPropertyMapperTests {
 
 		@ParameterizedTest
 		@AllPropertiesSource
-		void should_map_all_properties(Map<String, String> properties) {
+		void should_map_all_properties(Map<String, Object> properties) {
 			// GIVEN
 			PropertyMapper<TestRecord> underTest = new RecordPropertyMapper<>(TestRecord.class);
 			// WHEN
@@ -50,7 +53,7 @@ class RecordPropertyMapperTests {
 
 		@ParameterizedTest
 		@AllPropertiesSource
-		void should_map_all_properties_without_type_parameter(Map<String, String> properties) {
+		void should_map_all_properties_without_type_parameter(Map<String, Object> properties) {
 			// GIVEN
 			PropertyMapper<TestRecord> underTest = new RecordPropertyMapper<>();
 			// WHEN
@@ -61,6 +64,20 @@ class RecordPropertyMapperTests {
 				.returns("Value2", from(TestRecord::field2));
 		}
 
+		@Test
+		void should_map_items_with_different_keys() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new RecordPropertyMapper<>(TestRecord.class);
+			// WHEN
+			TestRecord first = underTest.map(Map.of("FIELD1", "Value1", "FIELD2", "Value2"));
+			TestRecord second = underTest.map(Map.of("field1", "Value3"));
+			TestRecord third = underTest.map(Map.of("FIELD1", "Value4", "FIELD2", "Value5"));
+			// THEN
+			then(first).isEqualTo(new TestRecord("Value1", "Value2"));
+			then(second).isEqualTo(new TestRecord("Value3", null));
+			then(third).isEqualTo(new TestRecord("Value4", "Value5"));
+		}
+
 		@Test
 		void should_fail_with_vararg_constructor_parameter() {
 			// WHEN
@@ -73,7 +90,7 @@ class RecordPropertyMapperTests {
 
 		@ParameterizedTest
 		@PartialPropertiesSource
-		void should_map_partial_properties(Map<String, String> properties) {
+		void should_map_partial_properties(Map<String, Object> properties) {
 			// GIVEN
 			PropertyMapper<TestRecord> underTest = new RecordPropertyMapper<>(TestRecord.class);
 			// WHEN
@@ -84,6 +101,48 @@ class RecordPropertyMapperTests {
 				.returns(null, from(TestRecord::field2));
 		}
 
+		@Test
+		void should_return_property_names() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new RecordPropertyMapper<>(TestRecord.class);
+			// WHEN
+			Set<String> result = underTest.getPropertyNames();
+			// THEN
+			then(result).containsExactlyInAnyOrder("field1", "field2");
+		}
+
+	}
+
+	@Nested
+	class using_record_with_typed_components {
+
+		private record TestRecord(String name, int count, Double ratio, boolean done, LocalDate day,
+				List<String> tags) {
+		}
+
+		@Test
+		void should_map_typed_properties() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new RecordPropertyMapper<>(TestRecord.class);
+			Map<String, Object> properties = Map.of("Name", "Value", "Count", 42.0, "Ratio", 0.5, "Done", true, "Day",
+					LocalDate.of(2024, 10, 1), "Tags", List.of("First", "Second"));
+			// WHEN
+			TestRecord result = underTest.map(properties);
+			// THEN
+			then(result).isEqualTo(
+					new TestRecord("Value", 42, 0.5, true, LocalDate.of(2024, 10, 1), List.of("First", "Second")));
+		}
+
+		@Test
+		void should_use_default_values_for_missing_primitives() {
+			// GIVEN
+			PropertyMapper<TestRecord> underTest = new RecordPropertyMapper<>(TestRecord.class);
+			// WHEN
+			TestRecord result = underTest.map(Map.of("Name", "Value"));
+			// THEN
+			then(result).isEqualTo(new TestRecord("Value", 0, null, false, null, null));
+		}
+
 	}
 
 	@Nested
@@ -105,7 +164,7 @@ class RecordPropertyMapperTests {
 
 		@ParameterizedTest
 		@AllPropertiesSource
-		void should_map_all_properties(Map<String, String> properties) {
+		void should_map_all_properties(Map<String, Object> properties) {
 			// GIVEN
 			PropertyMapper<TestRecord> underTest = new RecordPropertyMapper<>(TestRecord.class);
 			// WHEN
@@ -31,10 +31,8 @@ class TestData {
 
 	}
 
-	static Stream<Map<String, String>> all_properties() {
-		return Stream.of(
-				// FIXME not working with BeanWrapperPropertyMapper
-				// Map.of("FIELD1", "Value1", "FIELD2", "Value2"), //
+	static Stream<Map<String, Object>> all_properties() {
+		return Stream.of(Map.of("FIELD1", "Value1", "FIELD2", "Value2"), //
 				Map.of("Field1", "Value1", "Field2", "Value2"), //
 				Map.of("field1", "Value1", "field2", "Value2"));
 	}
@@ -45,10 +43,8 @@ class TestData {
 
 	}
 
-	static Stream<Map<String, String>> partial_properties() {
-		return Stream.of(
-				// FIXME not working with BeanWrapperPropertyMapper
-				// Map.of("FIELD1", "Value1"), //
+	static Stream<Map<String, Object>> partial_properties() {
+		return Stream.of(Map.of("FIELD1", "Value1"), //
 				Map.of("Field1", "Value1"), //
 				Map.of("field1", "Value1"));
 	}